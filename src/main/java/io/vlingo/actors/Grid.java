@@ -7,24 +7,57 @@
 
 package io.vlingo.actors;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import io.vlingo.common.identity.IdentityGeneratorType;
+import io.vlingo.lattice.grid.GridConfiguration;
 import io.vlingo.lattice.grid.GridNodeBootstrap;
+import io.vlingo.lattice.grid.GridTrace;
+import io.vlingo.lattice.grid.application.CreditMetrics;
 import io.vlingo.lattice.grid.application.OutboundGridActorControl;
+import io.vlingo.lattice.grid.application.RingMembership;
+import io.vlingo.lattice.grid.application.message.Relocate;
 import io.vlingo.lattice.grid.hashring.HashRing;
-import io.vlingo.lattice.grid.hashring.MurmurSortedMapHashRing;
+import io.vlingo.lattice.grid.hashring.PlacementHashRing;
 import io.vlingo.wire.node.Id;
 
-public class Grid extends Stage implements GridRuntime {
+public class Grid extends Stage implements GridRuntime, RingMembership {
 
   private static final String INSTANCE_NAME = UUID.randomUUID().toString();
 
+  private final GridConfiguration gridConfiguration;
   private final GridNodeBootstrap gridNodeBootstrap;
-  private final HashRing<Id> hashRing;
+  private final PlacementHashRing<Id> hashRing;
+  private final MessageSampler messageSampler;
+  private final ExecutorService priorityLanes;
+  private final ExecutorService relocations;
+  private final Set<Id> includedNodes = ConcurrentHashMap.newKeySet();
+  private final Set<Id> liveNodes = ConcurrentHashMap.newKeySet();
+  private final Set<Id> leftNodes = ConcurrentHashMap.newKeySet();
+  private final Map<Id, Integer> nodeWeights = new ConcurrentHashMap<>();
+  private final RelocationScheduler relocationScheduler;
+  private final StartedAddresses startedAddresses;
+  private final GridTrace.Sampling traceSampling;
+  private final GridTrace mailboxTrace;
 
   private Id nodeId;
   private OutboundGridActorControl outbound;
+  private volatile RingVersion ringVersion;
 
   public static Grid instance(World world) {
     return world.resolveDynamic(INSTANCE_NAME, Grid.class);
@@ -51,8 +84,12 @@ public class Grid extends Stage implements GridRuntime {
   }
 
   public static Grid start(final String worldName, final AddressFactory addressFactory, final Configuration worldConfiguration, final io.vlingo.cluster.model.Properties clusterProperties, final String gridNodeName) throws Exception {
+    return start(worldName, addressFactory, worldConfiguration, clusterProperties, GridConfiguration.define(), gridNodeName);
+  }
+
+  public static Grid start(final String worldName, final AddressFactory addressFactory, final Configuration worldConfiguration, final io.vlingo.cluster.model.Properties clusterProperties, final GridConfiguration gridConfiguration, final String gridNodeName) throws Exception {
     final World world = World.start(worldName, worldConfiguration);
-    final Grid grid = new Grid(world, addressFactory, clusterProperties, gridNodeName);
+    final Grid grid = new Grid(world, addressFactory, clusterProperties, gridConfiguration, gridNodeName);
     return grid;
   }
 
@@ -60,9 +97,32 @@ public class Grid extends Stage implements GridRuntime {
     return new Grid(world, addressFactory, clusterProperties, gridNodeName);
   }
 
+  public static Grid start(final World world, final AddressFactory addressFactory, final io.vlingo.cluster.model.Properties clusterProperties, final GridConfiguration gridConfiguration, final String gridNodeName) throws Exception {
+    return new Grid(world, addressFactory, clusterProperties, gridConfiguration, gridNodeName);
+  }
+
   public Grid(final World world, final AddressFactory addressFactory, final io.vlingo.cluster.model.Properties clusterProperties, final String gridNodeName) throws Exception {
+    this(world, addressFactory, clusterProperties, GridConfiguration.define(), gridNodeName);
+  }
+
+  public Grid(final World world, final AddressFactory addressFactory, final io.vlingo.cluster.model.Properties clusterProperties, final GridConfiguration gridConfiguration, final String gridNodeName) throws Exception {
     super(world, addressFactory, gridNodeName);
-    this.hashRing = new MurmurSortedMapHashRing<>(100);
+    this.gridConfiguration = gridConfiguration;
+    this.traceSampling = GridTrace.Sampling.of(gridConfiguration.traceSampling());
+    this.mailboxTrace = GridTrace.of(GridMailbox.class, traceSampling);
+    this.hashRing = new PlacementHashRing<>(gridConfiguration.hashRingFactory().get());
+    this.messageSampler = gridConfiguration.isHotActorBalancing() ? new MessageSampler() : null;
+    this.priorityLanes = gridConfiguration.isPriorityLanes()
+        ? executor(gridNodeName, "lanes", gridConfiguration.priorityLaneThreads())
+        : null;
+    this.startedAddresses = gridConfiguration.isStartSuppression()
+        ? new StartedAddresses(gridConfiguration.startedAddressCapacity())
+        : null;
+    this.relocations = executor(gridNodeName, "relocations", gridConfiguration.relocationConcurrency());
+    this.relocationScheduler = new RelocationScheduler(this::relocate, world.scheduler(), relocations, world.defaultLogger(),
+        gridConfiguration.relocationBatchSize(), gridConfiguration.relocationInterval(),
+        gridConfiguration.relocationConcurrency(), gridConfiguration.relocationBytesPerInterval(),
+        gridConfiguration.relocationMaxDelay());
     extenderStartDirectoryScanner();
     this.gridNodeBootstrap = GridNodeBootstrap.boot(this, gridNodeName, clusterProperties, false);
     world.registerDynamic(INSTANCE_NAME, this);
@@ -71,12 +131,61 @@ public class Grid extends Stage implements GridRuntime {
   @Override
   protected ActorFactory.MailboxWrapper mailboxWrapper() {
     return (address, mailbox) ->
-        new GridMailbox(mailbox, nodeId,
-            address, hashRing, outbound);
+        new GridMailbox(priorityLanes == null ? mailbox : priorityLaneMailbox(), nodeId,
+            address, hashRing, outbound, messageSampler, mailboxTrace);
+  }
+
+  private Mailbox priorityLaneMailbox() {
+    return new PriorityLaneMailbox(priorityLanes,
+        gridConfiguration.priorityLaneThroughput(), gridConfiguration.priorityLaneThreads());
+  }
+
+  private static ExecutorService executor(final String gridNodeName, final String purpose, final int threads) {
+    final AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      final Thread thread = new Thread(runnable, "grid-" + gridNodeName + "-" + purpose + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public GridConfiguration gridConfiguration() {
+    return gridConfiguration;
+  }
+
+  /**
+   * Answers the sampler of the messages sent to the local actors, or
+   * {@code null} if hot actor balancing is disabled.
+   * @return MessageSampler
+   */
+  public MessageSampler messageSampler() {
+    return messageSampler;
+  }
+
+  /**
+   * Answers the trace sampling of my {@code GridConfiguration}, which the
+   * traces of my components share.
+   * @return GridTrace.Sampling
+   */
+  public GridTrace.Sampling traceSampling() {
+    return traceSampling;
+  }
+
+  /**
+   * Answers the credit state of this node towards each node it sent to,
+   * which is empty unless credit flow is enabled.
+   * @return {@code Map<Id, CreditMetrics>}
+   */
+  public Map<Id, CreditMetrics> creditMetrics() {
+    return outbound == null ? Collections.emptyMap() : outbound.creditMetrics();
   }
 
   public void terminate() {
     world().terminate();
+    if (priorityLanes != null) {
+      priorityLanes.shutdown();
+    }
+    relocations.shutdown();
   }
 
   //====================================
@@ -123,35 +232,365 @@ public class Grid extends Stage implements GridRuntime {
 
   @Override
   public void nodeJoined(final Id newNode) {
-    if (nodeId.equals(newNode)) {
-      // self is added to the hash-ring on GridNode#start
+    liveNodes.add(newNode);
+    leftNodes.remove(newNode);
+    if (nodeId.equals(newNode) || includedNodes.contains(newNode)) {
+      // self is added to the hash-ring on GridNode#start, hinted nodes before they join
+      return;
+    }
+
+    includeNode(newNode);
+  }
+
+  @Override
+  public void nodeLeft(final Id node) {
+    liveNodes.remove(node);
+    leftNodes.add(node);
+    if (!includedNodes.remove(node)) {
+      this.hashRing.excludeNode(node);
+      return;
+    }
+    final HashRing<Id> previous = this.hashRing.copy();
+    this.hashRing.excludeNode(node);
+    relocationScheduler.change(() -> {
+      for (final Address address : directory.addresses()) {
+        if (address.isDistributable()) {
+          retainReplica(previous, address);
+        }
+      }
+    });
+  }
+
+  /**
+   * Reconciles my hash-ring with the {@code nodes} that the cluster reports as
+   * live, including those that I missed the join of and excluding those that I
+   * missed the leave of. A node that told me it left is not included again
+   * until the cluster reports that it joined.
+   * @param nodes the Collection of Id of all live nodes of the cluster
+   */
+  @Override
+  public void nodesLive(final Collection<Id> nodes) {
+    final Set<Id> live = new HashSet<>(nodes);
+    leftNodes.retainAll(live);
+    liveNodes.retainAll(live);
+    liveNodes.addAll(live);
+    for (final Id node : includedNodes) {
+      if (!live.contains(node)) {
+        nodeLeft(node);
+        leftNodes.remove(node);
+      }
+    }
+    for (final Id node : live) {
+      if (!node.equals(nodeId) && !includedNodes.contains(node) && !leftNodes.contains(node)) {
+        includeNode(node);
+      }
+    }
+  }
+
+  /**
+   * Sets the {@code weight} of {@code node}, which is included in the hash-ring
+   * with that weight when it joins, or again at once if it already joined.
+   * @param node the Id of the node
+   * @param weight the int weight of the node, greater than zero
+   */
+  @Override
+  public void nodeWeighted(final Id node, final int weight) {
+    final Integer previous = nodeWeights.put(node, weight);
+    if (!Objects.equals(previous, weight) && includedNodes.contains(node)) {
+      includeNode(node);
+    }
+  }
+
+  /**
+   * Includes the {@code nodes} on the hash-ring of the {@code sender} that are
+   * not on mine yet, ahead of the cluster telling me that they joined, but only
+   * those that the cluster already reports as live. A hint cannot tell whether
+   * its view is newer than mine, so the other nodes in which it differs from my
+   * hash-ring, and its weights, are only logged, and my hash-ring converges
+   * with the next live nodes that the cluster reports.
+   * @param sender the Id of the node that sent the hint
+   * @param nodes the weight of every node on the hash-ring of the sender
+   */
+  @Override
+  public void nodesHinted(final Id sender, final Map<Id, Integer> nodes) {
+    final List<Id> unknown = new ArrayList<>();
+    nodes.forEach((node, weight) -> {
+      if (node.equals(nodeId) || includedNodes.contains(node)) {
+        return;
+      }
+      if (liveNodes.contains(node) && !leftNodes.contains(node)) {
+        includeNode(node);
+      } else {
+        unknown.add(node);
+      }
+    });
+    final List<Id> missing = includedNodes.stream()
+        .filter(node -> !node.equals(sender) && !nodes.containsKey(node))
+        .collect(Collectors.toList());
+    if (!unknown.isEmpty() || !missing.isEmpty()) {
+      world().defaultLogger().warn("GRID: Hash-ring of node {} has nodes {} that are not live and lacks nodes {}; awaiting the live nodes of the cluster",
+          sender, unknown, missing);
+    }
+  }
+
+  @Override
+  public void credited(final Id node, final int credits) {
+    if (outbound != null) {
+      outbound.credited(node, credits);
+    }
+  }
+
+  /**
+   * Answers the digest of my {@code ringNodes()}, computed again only after
+   * the epoch of my hash-ring changed.
+   * @return long
+   */
+  @Override
+  public long ringVersion() {
+    final long epoch = this.hashRing.epoch();
+    RingVersion current = ringVersion;
+    if (current == null || current.epoch != epoch) {
+      current = new RingVersion(epoch, digest(ringNodes()));
+      ringVersion = current;
+    }
+    return current.version;
+  }
+
+  @Override
+  public Map<Id, Integer> ringNodes() {
+    final Map<Id, Integer> nodes = new HashMap<>();
+    includedNodes.forEach(node -> nodes.put(node, nodeWeights.getOrDefault(node, 1)));
+    if (nodeId != null) {
+      nodes.put(nodeId, nodeWeights.getOrDefault(nodeId, 1));
+    }
+    return nodes;
+  }
+
+  /**
+   * Answers the 64-bit FNV-1a hash of the ids and weights of the {@code nodes}
+   * in id order, which is never {@code NoVersion}.
+   */
+  private static long digest(final Map<Id, Integer> nodes) {
+    final List<Id> ordered = new ArrayList<>(nodes.keySet());
+    Collections.sort(ordered);
+    long hash = 0xcbf29ce484222325L;
+    for (final Id node : ordered) {
+      hash = (hash ^ node.value()) * 0x100000001b3L;
+      hash = (hash ^ nodes.get(node)) * 0x100000001b3L;
+    }
+    return hash == NoVersion ? 1 : hash;
+  }
+
+  /**
+   * Assigns the actor at {@code address} to {@code node} regardless of the
+   * hash-ring, relocating it there if it is on this node.
+   * @param address the Address of the actor
+   * @param node the Id of the node to place it on
+   */
+  @Override
+  public void place(final Address address, final Id node) {
+    relocateAfter(address, () -> this.hashRing.place(address, node));
+  }
+
+  /**
+   * Answers the actors assigned to nodes regardless of the hash-ring.
+   * @return {@code Map<Address, Id>}
+   */
+  @Override
+  public Map<Address, Id> placements() {
+    return this.hashRing.placements();
+  }
+
+  /**
+   * Assigns the actor at {@code address} to its node on the hash-ring again,
+   * relocating it there if it is on this node.
+   * @param address the Address of the actor
+   */
+  @Override
+  public void unplace(final Address address) {
+    relocateAfter(address, () -> this.hashRing.unplace(address));
+  }
+
+  private void relocateAfter(final Address address, final Runnable placement) {
+    final boolean resident = nodeId != null && isAssignedTo(this.hashRing, address, nodeId);
+    placement.run();
+    if (resident && !isAssignedTo(this.hashRing, address, nodeId)) {
+      relocationScheduler.schedule(Collections.singletonList(address));
+    } else if (!resident && nodeId != null && isAssignedTo(this.hashRing, address, nodeId)) {
+      holdReplica(address);
+    }
+  }
+
+  /**
+   * Suspends the replica at {@code address} that this node now owns, so that
+   * it does not serve calls until the previous owner relocates the actor.
+   */
+  private void holdReplica(final Address address) {
+    final Actor actor = directory.actorOf(address);
+    if (actor instanceof GridActor && ((GridActor<?>) actor).isReplica()) {
+      ((GridActor<?>) actor).suspendForRelocation();
+    }
+  }
+
+  /**
+   * Sends the {@code snapshot} of the actor at {@code address} to the holders
+   * of its replicas, if this node owns it.
+   */
+  void replicate(final Address address, final Definition definition, final Object snapshot) {
+    if (outbound == null || !isAssignedTo(this.hashRing, address, nodeId)) {
+      return;
+    }
+    final Definition.SerializationProxy proxy = Definition.SerializationProxy.from(definition);
+    replicaHolders(address, nodeId).forEach(node -> outbound.replicate(node, nodeId, proxy, address, snapshot));
+  }
+
+  /**
+   * Tells the holders of the replicas of the actor at {@code address}, which
+   * this node owns and which stopped, to stop its replicas.
+   */
+  void dropReplicas(final Address address, final Definition definition) {
+    replicate(address, definition, null);
+  }
+
+  /**
+   * Answers whether this node holds a replica of the actor at {@code address}.
+   * @param address the Address of the actor
+   * @return boolean
+   */
+  boolean isReplicaHolder(final Address address) {
+    final Id owner = this.hashRing.nodeOf(address);
+    return owner != null && replicaHolders(address, owner).contains(nodeId);
+  }
+
+  private List<Id> replicaHolders(final Address address, final Id owner) {
+    return ReplicaHolders.of(address, owner, ringNodes().keySet(), gridConfiguration.replicaCount());
+  }
+
+  /**
+   * Stops the local replica of the actor at {@code address} once its owner
+   * changed from that on the {@code previous} hash-ring, as the new owner does
+   * not replicate until its state changes, or once this node no longer holds
+   * one of its replicas. A replica of which this node is the new owner, after
+   * the previous owner left, keeps serving as the actor.
+   */
+  private void retainReplica(final HashRing<Id> previous, final Address address) {
+    final Actor actor = directory.actorOf(address);
+    if (!(actor instanceof GridActor) || !((GridActor<?>) actor).isReplica()) {
       return;
     }
+    final GridActor<?> replica = (GridActor<?>) actor;
+    final Id owner = this.hashRing.nodeOf(address);
+    if (nodeId.equals(owner)) {
+      replica.promoteReplica();
+    } else if (!Objects.equals(owner, previous.nodeOf(address)) || !replicaHolders(address, owner).contains(nodeId)) {
+      replica.dropReplica();
+    }
+  }
 
-    final HashRing<Id> copy = this.hashRing.copy();
-    this.hashRing.includeNode(newNode);
+  /**
+   * Answers the number of actors scheduled for relocation that were not relocated yet.
+   * @return long
+   */
+  public long pendingRelocations() {
+    return relocationScheduler.remaining();
+  }
 
-    directory.addresses().stream()
+  /**
+   * Hands off the distributable actors of this node, with their relocation
+   * snapshots and pending messages, to the nodes that own them without this
+   * node, so that they need not be restored cold after this node leaves. The
+   * other nodes are told first to exclude this node from their hash-rings.
+   */
+  public void drain() {
+    if (outbound == null) {
+      return;
+    }
+    final HashRing<Id> previous = this.hashRing.copy();
+    includedNodes.forEach(node -> outbound.leave(node, nodeId));
+    this.hashRing.excludeNode(nodeId);
+
+    final List<Address> resident = directory.addresses().stream()
         .filter(address ->
-            address.isDistributable() && shouldRelocateTo(copy, address, newNode))
-        .forEach(address -> {
-          final GridActor<?> actor = ((GridActor<?>) directory.actorOf(address));
-          if (!actor.isSuspendedForRelocation()) {
-            actor.suspendForRelocation();
-            outbound.relocate(
-                newNode, nodeId, Definition.SerializationProxy.from(actor.definition()),
-                address, actor.provideRelocationSnapshot(), actor.pending());
-          }
-        });
+            address.isDistributable() && isAssignedTo(previous, address, nodeId))
+        .collect(Collectors.toList());
+
+    final int drained = relocationScheduler.relocateNow(resident).actors;
+
+    outbound.flush();
+    world().defaultLogger().info("GRID: Drained {} actors of node {}", drained, nodeId);
   }
 
-  private boolean shouldRelocateTo(HashRing<Id> previous, Address address, Id newNode) {
-    return isAssignedTo(previous, address, nodeId)
-        && isAssignedTo(this.hashRing, address, newNode);
+  private void includeNode(final Id node) {
+    final HashRing<Id> previous = this.hashRing.copy();
+    this.hashRing.includeNode(node, nodeWeights.getOrDefault(node, 1));
+    includedNodes.add(node);
+    final HashRing<Id> current = this.hashRing.copy();
+    relocationScheduler.change(() -> relocateChanged(previous, current));
+  }
+
+  /**
+   * Schedules the relocation of the resident actors that the {@code current}
+   * hash-ring no longer assigns to this node, unlike the {@code previous} one,
+   * and holds or retains the replicas accordingly.
+   */
+  private void relocateChanged(final HashRing<Id> previous, final HashRing<Id> current) {
+    final List<Address> moving = new ArrayList<>();
+    for (final Address address : directory.addresses()) {
+      if (!address.isDistributable()) {
+        continue;
+      }
+      final boolean wasAssigned = isAssignedTo(previous, address, nodeId);
+      final boolean isAssigned = isAssignedTo(current, address, nodeId);
+      if (wasAssigned && !isAssigned) {
+        moving.add(address);
+      } else if (!wasAssigned && isAssigned) {
+        holdReplica(address);
+      } else if (!isAssigned) {
+        retainReplica(previous, address);
+      }
+    }
+
+    relocationScheduler.schedule(moving);
+  }
+
+  /**
+   * Relocates the actors of {@code addresses} that the hash-ring assigns to
+   * other nodes, sending a single {@code RelocateBatch} to each of them.
+   * @param addresses the List of Address of the actors to relocate
+   * @return RelocationScheduler.Relocated
+   */
+  private RelocationScheduler.Relocated relocate(final List<Address> addresses) {
+    final Map<Id, List<Relocate>> relocations = new HashMap<>();
+    final Map<Definition, Definition.SerializationProxy> definitions = new IdentityHashMap<>();
+    int relocated = 0;
+    for (final Address address : addresses) {
+      final Id owner = this.hashRing.nodeOf(address);
+      if (owner == null || owner.equals(nodeId)) {
+        continue;
+      }
+      final Actor actor = directory.actorOf(address);
+      if (!(actor instanceof GridActor)) {
+        continue;
+      }
+      final GridActor<?> gridActor = (GridActor<?>) actor;
+      if (!gridActor.claimForRelocation()) {
+        continue;
+      }
+      relocations.computeIfAbsent(owner, node -> new ArrayList<>()).add(
+          outbound.relocation(
+              definitions.computeIfAbsent(gridActor.definition(), Definition.SerializationProxy::from),
+              address, gridActor.provideRelocationSnapshot(), gridActor.pending()));
+      ++relocated;
+    }
+    long bytes = 0;
+    for (final Map.Entry<Id, List<Relocate>> relocation : relocations.entrySet()) {
+      bytes += outbound.relocate(relocation.getKey(), nodeId, relocation.getValue());
+    }
+    return new RelocationScheduler.Relocated(relocated, bytes);
   }
 
   private static boolean isAssignedTo(HashRing<Id> ring, Address a, Id node) {
-    return node.equals(ring.nodeOf(a.idString()));
+    return node.equals(ring.nodeOf(a));
   }
 
   @Override
@@ -171,9 +610,9 @@ public class Grid extends Stage implements GridRuntime {
   @Override
   protected <T> ActorProtocolActor<T> actorProtocolFor(Class<T> protocol, Definition definition, Actor parent, Address maybeAddress, Mailbox maybeMailbox, Supervisor maybeSupervisor, Logger logger) {
     final Address address = maybeAddress == null ? addressFactory().unique() : maybeAddress;
-    final Id node = hashRing.nodeOf(address.idString());
+    final Id node = hashRing.nodeOf(address);
     final Mailbox mailbox = maybeRemoteMailbox(address, definition, maybeMailbox, () -> {
-      outbound.start(node, nodeId, protocol, address, Definition.SerializationProxy.from(definition));
+      start(node, new Class<?>[] { protocol }, address, definition);
     });
     return super.actorProtocolFor(protocol, definition, parent, address, mailbox, maybeSupervisor, logger);
   }
@@ -181,15 +620,26 @@ public class Grid extends Stage implements GridRuntime {
   @Override
   protected ActorProtocolActor<Object>[] actorProtocolFor(Class<?>[] protocols, Definition definition, Actor parent, Address maybeAddress, Mailbox maybeMailbox, Supervisor maybeSupervisor, Logger logger) {
     final Address address = maybeAddress == null ? addressFactory().unique() : maybeAddress;
-    final Id node = hashRing.nodeOf(address.idString());
+    final Id node = hashRing.nodeOf(address);
     final Mailbox mailbox = maybeRemoteMailbox(address, definition, maybeMailbox, () -> {
-      outbound.start(node, nodeId, protocols[0], address, Definition.SerializationProxy.from(definition)); // TODO remote start all protocols
+      start(node, protocols, address, definition);
     });
     return super.actorProtocolFor(protocols, definition, parent, address, mailbox, maybeSupervisor, logger);
   }
 
+  /**
+   * Starts the actor of {@code protocols} at {@code address} on {@code node},
+   * unless this node started it there since the last change of the hash-ring.
+   */
+  private void start(final Id node, final Class<?>[] protocols, final Address address, final Definition definition) {
+    if (startedAddresses != null && !startedAddresses.add(address, hashRing.epoch())) {
+      return;
+    }
+    outbound.start(node, nodeId, protocols, address, Definition.SerializationProxy.from(definition));
+  }
+
   private Mailbox maybeRemoteMailbox(final Address address, final Definition definition, final Mailbox maybeMailbox, final Runnable out) {
-    final Id node = hashRing.nodeOf(address.idString());
+    final Id node = hashRing.nodeOf(address);
     final Mailbox __mailbox;
     if (node != null && !node.equals(nodeId)) {
       out.run();
@@ -203,4 +653,14 @@ public class Grid extends Stage implements GridRuntime {
     }
     return __mailbox;
   }
+
+  private static final class RingVersion {
+    final long epoch;
+    final long version;
+
+    RingVersion(final long epoch, final long version) {
+      this.epoch = epoch;
+      this.version = version;
+    }
+  }
 }
@@ -14,9 +14,12 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import io.vlingo.common.SerializableConsumer;
+
 public abstract class GridActor<S extends Serializable>
     extends Actor
     implements RelocationSnapshotSupplier<S>,
@@ -24,15 +27,124 @@ public abstract class GridActor<S extends Serializable>
 
   static final String Resume = "GridActor.Resume";
 
+  private final AtomicBoolean relocating = new AtomicBoolean();
+
+  /**
+   * Sends my {@code provideRelocationSnapshot()} to the nodes of the grid that
+   * hold my replicas, as many as the {@code replicaCount()} of the grid, which
+   * serve the calls to the {@code ReadOnly} methods of my protocols made on
+   * their node. Calls to my other methods are still delivered to me. Replicas
+   * are only as current as my last {@code replicate()}, so I call it after
+   * every change of my state that their readers must see. My replicas are
+   * stopped when I stop. Does nothing unless this node owns me.
+   */
+  protected final void replicate() {
+    final S snapshot = provideRelocationSnapshot();
+    if (snapshot != null && stage() instanceof Grid) {
+      ((Grid) stage()).replicate(address(), definition(), snapshot);
+    }
+  }
+
+  /**
+   * Applies the {@code snapshot} replicated by the node that owns me to this
+   * replica of me. Overrides must not expect {@code resumeFromRelocation()}.
+   * @param snapshot the S replicated snapshot
+   */
+  protected void applyReplica(final S snapshot) {
+    applyRelocationSnapshot(snapshot);
+  }
+
+  /**
+   * Applies the {@code snapshot} through my local mailbox, ahead of the reads
+   * that it then lets through, if I am not already a replica.
+   */
+  @SuppressWarnings("unchecked")
+  final void updateReplica(final Object snapshot) {
+    final Mailbox mailbox = lifeCycle.environment.mailbox;
+    if (!(mailbox instanceof GridMailbox)) {
+      return;
+    }
+    final GridMailbox gridMailbox = (GridMailbox) mailbox;
+    final SerializableConsumer<RelocationSnapshotConsumer<S>> apply =
+        consumer -> ((GridActor<S>) consumer).applyReplica((S) snapshot);
+    gridMailbox.sendLocal(this, RelocationSnapshotConsumer.class, apply, "applyReplica(Object)");
+    if (!gridMailbox.isReplica()) {
+      gridMailbox.replica(true);
+      if (gridMailbox.isSuspendedFor(Resume)) {
+        relocating.set(false);
+        gridMailbox.resume(Resume);
+      }
+    }
+  }
+
+  /**
+   * Tells my replicas to stop if I am stopping on the node that owns me.
+   */
+  @Override
+  public void stop() {
+    if (!isStopped() && !isReplica() && stage() instanceof Grid) {
+      ((Grid) stage()).dropReplicas(address(), definition());
+    }
+    super.stop();
+  }
+
+  /**
+   * Stops me, a replica whose owner stopped or changed, through my local
+   * mailbox only, so that a stop is not delivered to my owner.
+   */
+  final void dropReplica() {
+    final Mailbox mailbox = lifeCycle.environment.mailbox;
+    if (mailbox instanceof GridMailbox) {
+      ((GridMailbox) mailbox).dropReplica(this);
+    }
+  }
+
+  /**
+   * Makes me, a replica of which this node became the owner, the actor.
+   */
+  final void promoteReplica() {
+    final Mailbox mailbox = lifeCycle.environment.mailbox;
+    if (mailbox instanceof GridMailbox) {
+      ((GridMailbox) mailbox).replica(false);
+    }
+  }
+
+  final boolean isReplica() {
+    final Mailbox mailbox = lifeCycle.environment.mailbox;
+    return mailbox instanceof GridMailbox && ((GridMailbox) mailbox).isReplica();
+  }
+
   final void suspendForRelocation() {
-    lifeCycle.environment.mailbox.suspendExceptFor(Resume, RelocationSnapshotConsumer.class);
+    final Mailbox mailbox = lifeCycle.environment.mailbox;
+    if (mailbox instanceof GridMailbox) {
+      ((GridMailbox) mailbox).replica(false);
+    }
+    mailbox.suspendExceptFor(Resume, RelocationSnapshotConsumer.class);
+  }
+
+  /**
+   * Suspends me for my relocation unless I am already suspended, or claimed by
+   * a concurrent relocation, as the drain of this node and the relocation of
+   * the scheduled actors may both attempt to relocate me.
+   * @return boolean whether this call claimed me
+   */
+  final boolean claimForRelocation() {
+    if (isSuspendedForRelocation() || !relocating.compareAndSet(false, true)) {
+      return false;
+    }
+    suspendForRelocation();
+    return true;
   }
 
   final boolean isSuspendedForRelocation() {
     return lifeCycle.environment.mailbox.isSuspendedFor(Resume);
   }
 
+  /**
+   * Resumes me once relocated to this node. Overrides must call this.
+   */
   protected void resumeFromRelocation() {
+    relocating.set(false);
     lifeCycle.environment.mailbox.resume(Resume);
   }
 
@@ -47,6 +47,10 @@ public final class GridAddress implements Address, Serializable {
     return name == null ? idString() :  name;
   }
 
+  public boolean isNamed() {
+    return name != null;
+  }
+
   @Override
   public boolean isDistributable() {
     return true;
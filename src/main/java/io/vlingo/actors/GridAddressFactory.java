@@ -33,6 +33,10 @@ public final class GridAddressFactory implements AddressFactory {
     return new GridAddress(uuidFrom(reservedId), name);
   }
 
+  public Address from(final UUID reservedId, final String name) {
+    return new GridAddress(reservedId, name);
+  }
+
   @Override
   public Address from(final String idString) {
     return new GridAddress(UUID.fromString(idString));
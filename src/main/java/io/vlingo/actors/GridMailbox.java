@@ -13,17 +13,15 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import io.vlingo.common.SerializableConsumer;
+import io.vlingo.lattice.grid.GridTrace;
 import io.vlingo.lattice.grid.application.GridActorControl;
 import io.vlingo.lattice.grid.hashring.HashRing;
 import io.vlingo.wire.node.Id;
 
 public class GridMailbox implements Mailbox {
 
-  private static final Logger log = LoggerFactory.getLogger(GridMailbox.class);
+  private static final GridTrace UnsampledTrace = GridTrace.of(GridMailbox.class);
 
   private final Mailbox local;
   private final Id localId;
@@ -33,12 +31,113 @@ public class GridMailbox implements Mailbox {
 
   private final GridActorControl.Outbound outbound;
 
+  private final MessageSampler sampler;
+  private final GridTrace trace;
+
+  private Route route;
+  private Definition.SerializationProxy<?> definition; // racy on purpose, as every actor has a single definition
+  private int sends;
+  private volatile boolean replica;
+
   public GridMailbox(Mailbox local, Id localId, Address address, HashRing<Id> hashRing, GridActorControl.Outbound outbound) {
+    this(local, localId, address, hashRing, outbound, null);
+  }
+
+  public GridMailbox(Mailbox local, Id localId, Address address, HashRing<Id> hashRing, GridActorControl.Outbound outbound, MessageSampler sampler) {
+    this(local, localId, address, hashRing, outbound, sampler, UnsampledTrace);
+  }
+
+  public GridMailbox(Mailbox local, Id localId, Address address, HashRing<Id> hashRing, GridActorControl.Outbound outbound, MessageSampler sampler, GridTrace trace) {
     this.local = local;
     this.localId = localId;
     this.address = address;
     this.hashRing = hashRing;
     this.outbound = outbound;
+    this.sampler = sampler;
+    this.trace = trace;
+  }
+
+  /**
+   * Answers the proxy of the definition of my {@code actor}, created once, so
+   * that the encoder serializes it once.
+   */
+  private Definition.SerializationProxy<?> definitionOf(final Actor actor) {
+    if (definition == null) {
+      definition = Definition.SerializationProxy.from(actor.definition());
+    }
+    return definition;
+  }
+
+  /**
+   * Passes every {@code MessageSampler.SampleInterval}th local send to the
+   * {@code sampler}. The count is racy on purpose, as it need only be close.
+   */
+  private void sample() {
+    if (sampler != null && (++sends & MessageSampler.SampleMask) == 0) {
+      sampler.sample(address);
+    }
+  }
+
+  private void remote(final String operation, final Id nodeOf) {
+    if (trace.isTraced(GridMailbox.class)) {
+      trace.trace("remote", "operation", operation, "address", address, "node", nodeOf);
+    }
+  }
+
+  /**
+   * Answers the node owning my {@code address}, resolving it through the
+   * {@code hashRing} only when its epoch changed since the last resolution.
+   * The {@code route} is immutable, so racing threads at worst resolve twice.
+   */
+  private Id nodeOf() {
+    final long epoch = hashRing.epoch();
+    final Route cached = route;
+    if (cached != null && cached.epoch == epoch) {
+      return cached.node;
+    }
+    final Id node = hashRing.nodeOf(address);
+    route = new Route(epoch, node);
+    return node;
+  }
+
+  /**
+   * Sets whether the local actor is a replica of the actor owned by another
+   * node, in which case it serves the calls to the {@code ReadOnly} methods.
+   */
+  void replica(final boolean replica) {
+    this.replica = replica;
+  }
+
+  boolean isReplica() {
+    return replica;
+  }
+
+  /**
+   * Stops the local replica {@code actor} through the local mailbox only, after
+   * which the calls to its {@code ReadOnly} methods are sent to its owner again.
+   */
+  @SuppressWarnings("unchecked")
+  void dropReplica(final Actor actor) {
+    if (!replica) {
+      return;
+    }
+    replica = false;
+    final SerializableConsumer<Stoppable> stop = Stoppable::stop;
+    local.send(actor, Stoppable.class, stop, null, "stop()");
+  }
+
+  /**
+   * Sends {@code consumer} to the local actor, whichever node owns it.
+   */
+  void sendLocal(final Actor actor, final Class<?> protocol, final SerializableConsumer<?> consumer, final String representation) {
+    local.send(actor, protocol, consumer, null, representation);
+  }
+
+  private boolean isReplicaRead(final Class<?> protocol, final String representation) {
+    if (!replica || protocol == null || representation == null) {
+      return false;
+    }
+    return MethodInvocation.isReadOnly(protocol, representation);
   }
 
   private void delegateUnlessIsRemote(Consumer<Id> remote, Runnable consumer) {
@@ -46,7 +145,7 @@ public class GridMailbox implements Mailbox {
       consumer.run();
       return;
     }
-    Id nodeOf = hashRing.nodeOf(address.idString());
+    Id nodeOf = nodeOf();
     if (nodeOf == null || nodeOf.equals(localId)) {
       consumer.run();
     } else {
@@ -58,7 +157,7 @@ public class GridMailbox implements Mailbox {
     if (!address.isDistributable()) {
       return supplier.get();
     }
-    Id nodeOf = hashRing.nodeOf(address.idString());
+    Id nodeOf = nodeOf();
     if (nodeOf == null || nodeOf.equals(localId)) {
       return supplier.get();
     } else {
@@ -69,7 +168,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public void close() {
     delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::close on: " + nodeOf);
+      remote("close", nodeOf);
       local.close();
     }, local::close);
   }
@@ -77,7 +176,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public boolean isClosed() {
     return delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::isClosed on: " + nodeOf);
+      remote("isClosed", nodeOf);
       return local.isClosed();
     }, local::isClosed);
   }
@@ -85,7 +184,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public boolean isDelivering() {
     return delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::isDelivering on: " + nodeOf);
+      remote("isDelivering", nodeOf);
       return local.isDelivering();
     }, local::isDelivering);
   }
@@ -93,7 +192,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public int concurrencyCapacity() {
     return delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::concurrencyCapacity on: " + nodeOf);
+      remote("concurrencyCapacity", nodeOf);
       return local.concurrencyCapacity();
     }, local::concurrencyCapacity);
   }
@@ -101,7 +200,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public void resume(String name) {
     delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::resume on: " + nodeOf);
+      remote("resume", nodeOf);
       local.resume(name);
     }, () -> local.resume(name));
   }
@@ -114,31 +213,45 @@ public class GridMailbox implements Mailbox {
   @Override
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public void send(Message message) {
+    if (isReplicaRead(message.protocol(), message.representation())) {
+      local.send(message);
+      return;
+    }
     delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::send(Message) on: " + nodeOf);
+      remote("send(Message)", nodeOf);
       LocalMessage localMessage = (LocalMessage) message; // TODO make this work with Message ?
       if (overrides.contains(localMessage.protocol())) {
         local.send(message);
       }
       outbound.deliver(
           nodeOf, localId, localMessage.returns(), message.protocol(),
-          address, Definition.SerializationProxy.from(message.actor().definition()),
+          address, definitionOf(message.actor()),
           localMessage.consumer(), message.representation());
-    }, () -> local.send(message));
+    }, () -> {
+      sample();
+      local.send(message);
+    });
   }
 
   @Override
   @SuppressWarnings({ "unchecked" })
   public void send(Actor actor, Class<?> protocol, SerializableConsumer<?> consumer, Returns<?> returns, String representation) {
+    if (isReplicaRead(protocol, representation)) {
+      local.send(actor, protocol, consumer, returns, representation);
+      return;
+    }
     delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::send(Actor, ...) on: " + nodeOf);
+      remote("send(Actor, ...)", nodeOf);
       if (overrides.contains(protocol)) {
         local.send(actor, protocol, consumer, returns, representation);
       }
       outbound.deliver(nodeOf, localId, returns, (Class<Object>) protocol,
-          address, Definition.SerializationProxy.from(actor.definition()),
+          address, definitionOf(actor),
           (SerializableConsumer<Object>) consumer, representation);
-    }, () -> local.send(actor, protocol, consumer, returns, representation));
+    }, () -> {
+      sample();
+      local.send(actor, protocol, consumer, returns, representation);
+    });
   }
 
   @Override
@@ -164,7 +277,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public Message receive() {
     return delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::receive on: " + nodeOf);
+      remote("receive", nodeOf);
       return local.receive();
     }, local::receive);
   }
@@ -172,7 +285,7 @@ public class GridMailbox implements Mailbox {
   @Override
   public int pendingMessages() {
     return delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::pendingMessages on: " + nodeOf);
+      remote("pendingMessages", nodeOf);
       return local.pendingMessages();
     }, local::pendingMessages);
   }
@@ -180,8 +293,18 @@ public class GridMailbox implements Mailbox {
   @Override
   public void run() {
     delegateUnlessIsRemote(nodeOf -> {
-      log.debug("Remote::run on: " + nodeOf);
+      remote("run", nodeOf);
       local.run();
     }, local);
   }
+
+  private static final class Route {
+    final long epoch;
+    final Id node;
+
+    Route(final long epoch, final Id node) {
+      this.epoch = epoch;
+      this.node = node;
+    }
+  }
 }
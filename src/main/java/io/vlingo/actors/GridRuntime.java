@@ -7,6 +7,9 @@
 
 package io.vlingo.actors;
 
+import java.util.Collection;
+import java.util.Map;
+
 import io.vlingo.lattice.grid.GridNodeBootstrap;
 import io.vlingo.lattice.grid.application.OutboundGridActorControl;
 import io.vlingo.lattice.grid.hashring.HashRing;
@@ -14,9 +17,17 @@ import io.vlingo.wire.node.Id;
 
 public interface GridRuntime {
   Actor actorAt(Address address);
+  void credited(final Id node, final int credits);
   GridNodeBootstrap gridNodeBootstrap();
   HashRing<Id> hashRing();
   void nodeJoined(final Id newNode);
+  void nodeLeft(final Id node);
+  void nodeWeighted(final Id node, final int weight);
+  void nodesHinted(final Id sender, final Map<Id, Integer> nodes);
+  void nodesLive(final Collection<Id> nodes);
+  void place(final Address address, final Id node);
+  Map<Address, Id> placements();
+  void unplace(final Address address);
   void setNodeId(final Id nodeId);
   void setOutbound(final OutboundGridActorControl outbound);
 }
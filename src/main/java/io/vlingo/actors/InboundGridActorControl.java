@@ -7,14 +7,17 @@
 
 package io.vlingo.actors;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import io.vlingo.common.SerializableConsumer;
 import io.vlingo.lattice.grid.application.GridActorControl;
 import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
 import io.vlingo.lattice.grid.application.message.Message;
 import io.vlingo.wire.node.Id;
 
@@ -23,10 +26,14 @@ public class InboundGridActorControl implements GridActorControl.Inbound {
   private final Logger logger;
   private final Grid grid;
 
-  private final Function<UUID, Returns<?>> correlation;
+  private final Function<CorrelationId, Returns<?>> correlation;
 
+  // a RelocateBatch decodes a single proxy per distinct Definition, resolved once
+  private final Map<Definition.SerializationProxy, Definition> definitions =
+      Collections.synchronizedMap(new WeakHashMap<>());
 
-  public InboundGridActorControl(Logger logger, Grid grid, Function<UUID, Returns<?>> correlation) {
+
+  public InboundGridActorControl(Logger logger, Grid grid, Function<CorrelationId, Returns<?>> correlation) {
     this.logger = logger;
     this.grid = grid;
     this.correlation = correlation;
@@ -69,11 +76,16 @@ public class InboundGridActorControl implements GridActorControl.Inbound {
   }
 
   @Override
-  public <T> void start(Id receiver, Id sender, Class<T> protocol, Address address, Definition.SerializationProxy definition) {
+  public void start(Id receiver, Id sender, Class<?>[] protocols, Address address, Definition.SerializationProxy definition) {
     logger.debug("Processing: Received application message: Start");
-    final GridActor<?> actor = (GridActor<?>) grid.rawLookupOrStart(
-        Definition.from(grid, definition, grid.world.defaultLogger()),
-        address);
+    final Definition resolved = Definition.from(grid, definition, grid.world.defaultLogger());
+    // a single actor serves all of its protocols, so that it is started once for all of them
+    for (final Class<?> protocol : protocols) {
+      if (protocol != null && !protocol.isAssignableFrom(resolved.type())) {
+        throw new IllegalArgumentException("The actor " + resolved.type().getName() + " at " + address + " does not implement " + protocol.getName());
+      }
+    }
+    final GridActor<?> actor = (GridActor<?>) grid.rawLookupOrStart(resolved, address);
     if (actor.isSuspendedForRelocation()) {
       logger.debug("Resuming thunk found at {} with definition='{}'",
           address,
@@ -98,18 +110,60 @@ public class InboundGridActorControl implements GridActorControl.Inbound {
   public void relocate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot, List<? extends io.vlingo.actors.Message> pending) {
     logger.debug("Processing: Received application message: Relocate");
     final GridActor<?> actor = (GridActor<?>) grid.actorLookupOrStartThunk(
-        Definition.from(grid, definition, grid.world.defaultLogger()),
+        definitions.computeIfAbsent(definition, proxy -> Definition.from(grid, proxy, grid.world.defaultLogger())),
         address);
+    // a replica held for the relocation becomes the actor, which is no longer held if this node learns of the change late
+    actor.promoteReplica();
+    // received by the suspended actor ahead of the pending messages, which wait for resumeFromRelocation()
     final RelocationSnapshotConsumer<Object> consumer = grid.actorAs(actor,
         RelocationSnapshotConsumer.class);
     consumer.applyRelocationSnapshot(snapshot);
+    final Mailbox mailbox = actor.lifeCycle.environment.mailbox;
     pending.forEach(m -> {
       final LocalMessage<?> message = (LocalMessage<?>)m;
       message.set(actor,
           message.protocol(), message.consumer(),
           message.returns(), message.representation());
-      message.deliver();
+      mailbox.send(message);
     });
     actor.resumeFromRelocation();
   }
+
+  @Override
+  public void replicate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot) {
+    logger.debug("Processing: Received application message: Replicate");
+    if (receiver.equals(grid.hashRing().nodeOf(address))) {
+      // sent by a previous owner of the actor, which is now on this node
+      return;
+    }
+    if (snapshot == null) {
+      // the owner stopped the actor
+      final Actor replica = grid.actorAt(address);
+      if (replica instanceof GridActor) {
+        ((GridActor<?>) replica).dropReplica();
+      }
+      return;
+    }
+    final GridActor<?> actor = (GridActor<?>) grid.actorLookupOrStartThunk(
+        definitions.computeIfAbsent(definition, proxy -> Definition.from(grid, proxy, grid.world.defaultLogger())),
+        address);
+    actor.updateReplica(snapshot);
+  }
+
+  @Override
+  public void hint(Id receiver, Id sender, Map<Id, Integer> nodes) {
+    logger.debug("Processing: Received application message: RingHint");
+    grid.nodesHinted(sender, nodes);
+  }
+
+  @Override
+  public void credit(Id receiver, Id sender, int credits) {
+    grid.credited(sender, credits);
+  }
+
+  @Override
+  public void leave(Id receiver, Id sender) {
+    logger.debug("Processing: Received application message: Leave");
+    grid.nodeLeft(sender);
+  }
 }
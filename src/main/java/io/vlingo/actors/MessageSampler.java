@@ -0,0 +1,43 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the messages sent to local actors by sampling one of every
+ * {@code SampleInterval} messages of each {@code GridMailbox}, so that hot
+ * actors are found without counting every message.
+ */
+public final class MessageSampler {
+  public static final int SampleInterval = 64;
+
+  static final int SampleMask = SampleInterval - 1;
+
+  private volatile Map<Address, LongAdder> samples = new ConcurrentHashMap<>();
+
+  void sample(final Address address) {
+    samples.computeIfAbsent(address, any -> new LongAdder()).increment();
+  }
+
+  /**
+   * Answers the estimated number of messages sent to each sampled actor since
+   * the previous drain, and starts sampling anew.
+   * @return {@code Map<Address, Long>}
+   */
+  public Map<Address, Long> drain() {
+    final Map<Address, LongAdder> drained = samples;
+    samples = new ConcurrentHashMap<>();
+    final Map<Address, Long> counts = new HashMap<>(drained.size());
+    drained.forEach((address, count) -> counts.put(address, count.sum() * SampleInterval));
+    return counts;
+  }
+}
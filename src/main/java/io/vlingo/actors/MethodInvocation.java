@@ -0,0 +1,394 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vlingo.common.SerializableConsumer;
+
+/**
+ * A call of the method of a protocol, identified by its {@code methodId}, with
+ * its {@code args}, which replaces the lambda consumer of a message sent to a
+ * remote actor, so that neither the lambda nor the proxy it captures are
+ * serialized.
+ * <p>
+ * Method ids are the positions of the methods of a protocol ordered by name
+ * and parameter types, which are the same on every node that has the same
+ * version of the protocol. Only the lambdas of proxies, the classes that
+ * implement the protocol, are replaced. These capture their proxy, if any,
+ * followed by the arguments of the call, as the compiler captures variables
+ * in the order that the lambda first uses them. The declared types of the
+ * captures must be the parameter types of the method, in order, or the
+ * lambda is kept, and sent serialized as before, after the first mismatch of
+ * its class is logged.
+ */
+public final class MethodInvocation implements SerializableConsumer<Object> {
+  private static final long serialVersionUID = -2853104762240811453L;
+
+  public static final short NoMethod = -1;
+
+  private static final Logger logger = LoggerFactory.getLogger(MethodInvocation.class);
+
+  private static final Map<Class<?>, Class<?>> Primitives = new HashMap<>();
+  static {
+    Primitives.put(boolean.class, Boolean.class);
+    Primitives.put(byte.class, Byte.class);
+    Primitives.put(char.class, Character.class);
+    Primitives.put(double.class, Double.class);
+    Primitives.put(float.class, Float.class);
+    Primitives.put(int.class, Integer.class);
+    Primitives.put(long.class, Long.class);
+    Primitives.put(short.class, Short.class);
+  }
+
+  private static final ClassValue<Method[]> methods = new ClassValue<Method[]>() {
+    @Override
+    protected Method[] computeValue(final Class<?> protocol) {
+      final List<Method> instanceMethods = new ArrayList<>();
+      for (final Method method : protocol.getMethods()) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+          accessible(method);
+          instanceMethods.add(method);
+        }
+      }
+      instanceMethods.sort(Comparator.comparing(MethodInvocation::signature)
+          .thenComparing(method -> method.getDeclaringClass().getName()));
+      return instanceMethods.toArray(new Method[0]);
+    }
+  };
+
+  private static final ClassValue<Map<String, Short>> methodIds = new ClassValue<Map<String, Short>>() {
+    @Override
+    protected Map<String, Short> computeValue(final Class<?> protocol) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  // whether each method of the protocol, by method id, is ReadOnly
+  private static final ClassValue<boolean[]> readOnly = new ClassValue<boolean[]>() {
+    @Override
+    protected boolean[] computeValue(final Class<?> protocol) {
+      final Method[] candidates = methods.get(protocol);
+      final boolean[] readOnly = new boolean[candidates.length];
+      for (int methodId = 0; methodId < candidates.length; ++methodId) {
+        readOnly[methodId] = candidates[methodId].isAnnotationPresent(ReadOnly.class);
+      }
+      return readOnly;
+    }
+  };
+
+  // whether a mismatch of the lambda class was logged
+  private static final ClassValue<AtomicBoolean> mismatchLogged = new ClassValue<AtomicBoolean>() {
+    @Override
+    protected AtomicBoolean computeValue(final Class<?> lambda) {
+      return new AtomicBoolean();
+    }
+  };
+
+  private static final ClassValue<Method> writeReplaces = new ClassValue<Method>() {
+    @Override
+    protected Method computeValue(final Class<?> lambda) {
+      try {
+        final Method writeReplace = lambda.getDeclaredMethod("writeReplace");
+        writeReplace.setAccessible(true);
+        return writeReplace;
+      } catch (NoSuchMethodException | RuntimeException e) {
+        return null;
+      }
+    }
+  };
+
+  public final Class<?> protocol;
+  public final short methodId;
+  public final Object[] args;
+
+  /**
+   * Answers the {@code consumer} of a message to an actor of the {@code protocol}
+   * as a {@code MethodInvocation}, or the {@code consumer} itself if it is not
+   * the lambda of a proxy that calls a single method of the protocol.
+   * @param protocol the {@code Class<?>} protocol of the message
+   * @param consumer the {@code SerializableConsumer<T>} of the message
+   * @param representation the String representation of the message, as {@code method(ParameterTypes)}
+   * @param <T> the protocol type
+   * @return {@code SerializableConsumer<T>}
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> SerializableConsumer<T> of(final Class<?> protocol, final SerializableConsumer<T> consumer, final String representation) {
+    if (protocol == null || consumer == null || representation == null || consumer instanceof MethodInvocation) {
+      return consumer;
+    }
+    final short methodId = methodIdOf(protocol, representation);
+    if (methodId == NoMethod) {
+      return consumer;
+    }
+    final Object[] args = argsOf(consumer, methods.get(protocol)[methodId]);
+    return args == null ? consumer : (SerializableConsumer<T>) new MethodInvocation(protocol, methodId, args);
+  }
+
+  public MethodInvocation(final Class<?> protocol, final short methodId, final Object[] args) {
+    this.protocol = protocol;
+    this.methodId = methodId;
+    this.args = args;
+  }
+
+  @Override
+  public void accept(final Object target) {
+    final Object[] thunked = args.clone();
+    if (target instanceof Actor) {
+      final Stage stage = ((Actor) target).lifeCycle.environment.stage;
+      for (int index = 0; index < thunked.length; ++index) {
+        thunked[index] = ActorProxyBase.thunk(stage, thunked[index]);
+      }
+    }
+    try {
+      methods.get(protocol)[methodId].invoke(target, thunked);
+    } catch (InvocationTargetException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MethodInvocation(method='%s', args='%s')",
+        signature(methods.get(protocol)[methodId]), Arrays.toString(args));
+  }
+
+  /**
+   * Answers the id of the method of the {@code protocol} that the
+   * {@code representation} names, or {@code NoMethod} if it names none or more
+   * than one of them.
+   */
+  static short methodIdOf(final Class<?> protocol, final String representation) {
+    final Map<String, Short> ids = methodIds.get(protocol);
+    final Short known = ids.get(representation);
+    if (known != null) {
+      return known;
+    }
+    final short methodId = resolve(methods.get(protocol), representation);
+    ids.put(representation, methodId);
+    return methodId;
+  }
+
+  /**
+   * Answers whether the method of the {@code protocol} that the
+   * {@code representation} names, resolved as by {@code methodIdOf()}, is
+   * {@code ReadOnly}, which it is not if it names none or more than one method.
+   */
+  static boolean isReadOnly(final Class<?> protocol, final String representation) {
+    final short methodId = methodIdOf(protocol, representation);
+    return methodId != NoMethod && readOnly.get(protocol)[methodId];
+  }
+
+  private static short resolve(final Method[] candidates, final String representation) {
+    final int open = representation.indexOf('(');
+    final int close = representation.lastIndexOf(')');
+    if (open < 0 || close < open || candidates.length > Short.MAX_VALUE) {
+      return NoMethod;
+    }
+    final String name = representation.substring(0, open).trim();
+    final List<String> parameters = parameters(representation.substring(open + 1, close));
+    short match = NoMethod;
+    for (short methodId = 0; methodId < candidates.length; ++methodId) {
+      if (matches(candidates[methodId], name, parameters)) {
+        if (match != NoMethod) {
+          return NoMethod;
+        }
+        match = methodId;
+      }
+    }
+    return match;
+  }
+
+  private static boolean matches(final Method method, final String name, final List<String> parameters) {
+    if (!method.getName().equals(name) || method.getParameterCount() != parameters.size()) {
+      return false;
+    }
+    final Class<?>[] types = method.getParameterTypes();
+    for (int index = 0; index < types.length; ++index) {
+      final String parameter = parameters.get(index);
+      // a type variable, such as T, names no class
+      if (parameter.indexOf('.') >= 0 && !parameter.equals(types[index].getTypeName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Answers the erased types of the comma separated {@code parameters}, of
+   * which the type arguments may contain commas too.
+   */
+  private static List<String> parameters(final String parameters) {
+    final List<String> erased = new ArrayList<>();
+    final StringBuilder type = new StringBuilder();
+    int depth = 0;
+    for (final char c : parameters.toCharArray()) {
+      if (c == '<') {
+        ++depth;
+      } else if (c == '>') {
+        --depth;
+      } else if (depth == 0) {
+        if (c == ',') {
+          erased.add(type.toString().trim());
+          type.setLength(0);
+        } else {
+          type.append(c);
+        }
+      }
+    }
+    final String last = type.toString().trim();
+    if (!last.isEmpty() || !erased.isEmpty()) {
+      erased.add(last);
+    }
+    return erased;
+  }
+
+  /**
+   * Answers the arguments captured by the {@code consumer} for the call of the
+   * {@code method}, or {@code null} if it is not the lambda of a proxy of the
+   * protocol of the {@code method}.
+   * @throws IllegalStateException if it is the lambda of a proxy whose captures
+   * do not fit the parameters of the {@code method}
+   */
+  private static Object[] argsOf(final SerializableConsumer<?> consumer, final Method method) {
+    final Method writeReplace = writeReplaces.get(consumer.getClass());
+    if (writeReplace == null) {
+      return null;
+    }
+    final SerializedLambda lambda;
+    try {
+      final Object replaced = writeReplace.invoke(consumer);
+      if (!(replaced instanceof SerializedLambda)) {
+        return null;
+      }
+      lambda = (SerializedLambda) replaced;
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return null;
+    }
+    if (!isProxyOf(method.getDeclaringClass(), lambda.getCapturingClass(), consumer.getClass().getClassLoader())) {
+      return null;
+    }
+    final Class<?>[] types = method.getParameterTypes();
+    final List<String> captures = parameterDescriptors(lambda.getImplMethodSignature());
+    final int captured = lambda.getCapturedArgCount();
+    final int first = captured == types.length + 1 && lambda.getCapturedArg(0) instanceof ActorProxyBase ? 1 : 0;
+    if (captured - first != types.length || captures.size() < captured) {
+      return mismatch(consumer, lambda, method);
+    }
+    final Object[] args = new Object[types.length];
+    for (int index = 0; index < types.length; ++index) {
+      final Object arg = lambda.getCapturedArg(first + index);
+      if (!captures.get(first + index).equals(descriptorOf(types[index]))
+          || (arg != null ? !boxed(types[index]).isInstance(arg) : types[index].isPrimitive())) {
+        return mismatch(consumer, lambda, method);
+      }
+      args[index] = arg;
+    }
+    return args;
+  }
+
+  private static boolean isProxyOf(final Class<?> protocol, final String capturingClass, final ClassLoader classLoader) {
+    try {
+      return protocol.isAssignableFrom(Class.forName(capturingClass.replace('/', '.'), false, classLoader));
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Logs, once per class of {@code consumer}, that its {@code lambda} does not
+   * capture the arguments of the {@code method}, and answers {@code null}, so
+   * that the {@code consumer} is kept.
+   */
+  private static Object[] mismatch(final SerializableConsumer<?> consumer, final SerializedLambda lambda, final Method method) {
+    if (mismatchLogged.get(consumer.getClass()).compareAndSet(false, true)) {
+      logger.warn("The lambda {}{} of {} does not capture the arguments of {} in order, so it is sent serialized.",
+          lambda.getImplMethodName(), lambda.getImplMethodSignature(), lambda.getCapturingClass(), signature(method));
+    }
+    return null;
+  }
+
+  /**
+   * Answers the descriptors of the parameters of the method {@code descriptor}.
+   */
+  private static List<String> parameterDescriptors(final String descriptor) {
+    final List<String> parameters = new ArrayList<>();
+    int index = 1;
+    while (descriptor.charAt(index) != ')') {
+      int end = index;
+      while (descriptor.charAt(end) == '[') {
+        ++end;
+      }
+      end = descriptor.charAt(end) == 'L' ? descriptor.indexOf(';', end) + 1 : end + 1;
+      parameters.add(descriptor.substring(index, end));
+      index = end;
+    }
+    return parameters;
+  }
+
+  private static String descriptorOf(final Class<?> type) {
+    if (type.isArray()) {
+      return type.getName().replace('.', '/');
+    }
+    if (!type.isPrimitive()) {
+      return "L" + type.getName().replace('.', '/') + ";";
+    }
+    if (type == boolean.class) {
+      return "Z";
+    } else if (type == long.class) {
+      return "J";
+    }
+    return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+  }
+
+  private static Class<?> boxed(final Class<?> type) {
+    return type.isPrimitive() ? Primitives.get(type) : type;
+  }
+
+  private static void accessible(final Method method) {
+    try {
+      method.setAccessible(true);
+    } catch (RuntimeException e) {
+      // public methods of public protocols are invoked as they are
+    }
+  }
+
+  private static String signature(final Method method) {
+    final StringBuilder signature = new StringBuilder(method.getName()).append('(');
+    final Class<?>[] types = method.getParameterTypes();
+    for (int index = 0; index < types.length; ++index) {
+      if (index > 0) {
+        signature.append(", ");
+      }
+      signature.append(types[index].getTypeName());
+    }
+    return signature.append(')').toString();
+  }
+}
@@ -0,0 +1,227 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vlingo.common.SerializableConsumer;
+
+/**
+ * A {@code Mailbox} of two queues, of which the {@code lane} of the grid
+ * control protocols, which are those of relocations and snapshots such as
+ * {@code RelocationSnapshotConsumer}, is always delivered first, so that
+ * control messages do not wait behind the backlog of application messages.
+ * {@code Stoppable} keeps its order behind the messages sent before it, so
+ * that stopping an actor does not drop them.
+ * <p>
+ * While suspended, only messages of the override protocols are delivered, and
+ * those sent during the suspension take the lane, so that they are not held
+ * behind the queue either. {@code receive()} answers the messages of both
+ * queues regardless of suspension, so that a relocation takes all pending
+ * messages.
+ */
+final class PriorityLaneMailbox implements Mailbox {
+  static final Set<Class<?>> ControlProtocols = Collections.singleton(RelocationSnapshotConsumer.class);
+
+  private final Executor executor;
+  private final int throughput;
+  private final int concurrencyCapacity;
+
+  private final Queue<Message> lane = new ConcurrentLinkedQueue<>();
+  private final Queue<Message> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean delivering = new AtomicBoolean();
+
+  private volatile List<Suspension> suspensions = Collections.emptyList();
+  private volatile boolean closed;
+
+  PriorityLaneMailbox(final Executor executor, final int throughput, final int concurrencyCapacity) {
+    this.executor = executor;
+    this.throughput = throughput;
+    this.concurrencyCapacity = concurrencyCapacity;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    lane.clear();
+    queue.clear();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public boolean isDelivering() {
+    return delivering.get();
+  }
+
+  @Override
+  public int concurrencyCapacity() {
+    return concurrencyCapacity;
+  }
+
+  @Override
+  public void resume(final String name) {
+    synchronized (this) {
+      final List<Suspension> current = new ArrayList<>(suspensions);
+      for (int index = current.size() - 1; index >= 0; --index) {
+        if (current.get(index).name.equals(name)) {
+          current.remove(index);
+          break;
+        }
+      }
+      suspensions = current.isEmpty() ? Collections.emptyList() : current;
+    }
+    dispatch();
+  }
+
+  @Override
+  public void send(final Message message) {
+    if (closed) {
+      return;
+    }
+    final Class<?> protocol = message.protocol();
+    if (ControlProtocols.contains(protocol) || isOverride(protocol)) {
+      lane.add(message);
+    } else {
+      queue.add(message);
+    }
+    dispatch();
+  }
+
+  @Override
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void send(final Actor actor, final Class<?> protocol, final SerializableConsumer<?> consumer, final Returns<?> returns, final String representation) {
+    send(new LocalMessage(actor, protocol, consumer, returns, representation));
+  }
+
+  @Override
+  public boolean isPreallocated() {
+    return false;
+  }
+
+  @Override
+  public void suspendExceptFor(final String name, final Class<?>... overrides) {
+    synchronized (this) {
+      final List<Suspension> current = new ArrayList<>(suspensions);
+      current.add(new Suspension(name, overrides));
+      suspensions = current;
+    }
+  }
+
+  @Override
+  public boolean isSuspended() {
+    return !suspensions.isEmpty();
+  }
+
+  @Override
+  public boolean isSuspendedFor(final String name) {
+    for (final Suspension suspension : suspensions) {
+      if (suspension.name.equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Message receive() {
+    final Message control = lane.poll();
+    return control != null ? control : queue.poll();
+  }
+
+  @Override
+  public int pendingMessages() {
+    return lane.size() + queue.size();
+  }
+
+  @Override
+  public void run() {
+    try {
+      for (int count = 0; count < throughput; ++count) {
+        final Message message = next();
+        if (message == null) {
+          break;
+        }
+        message.deliver();
+      }
+    } finally {
+      delivering.set(false);
+    }
+    if (hasDeliverable()) {
+      dispatch();
+    }
+  }
+
+  private void dispatch() {
+    if (!closed && hasDeliverable() && delivering.compareAndSet(false, true)) {
+      executor.execute(this);
+    }
+  }
+
+  private boolean hasDeliverable() {
+    if (!isSuspended()) {
+      return !lane.isEmpty() || !queue.isEmpty();
+    }
+    for (final Message message : lane) {
+      if (isOverride(message.protocol())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Answers the next message to deliver, which while suspended is the first
+   * message of the lane of an override protocol, if any.
+   */
+  private Message next() {
+    if (!isSuspended()) {
+      return receive();
+    }
+    for (final Iterator<Message> messages = lane.iterator(); messages.hasNext(); ) {
+      final Message message = messages.next();
+      if (isOverride(message.protocol())) {
+        messages.remove();
+        return message;
+      }
+    }
+    return null;
+  }
+
+  private boolean isOverride(final Class<?> protocol) {
+    for (final Suspension suspension : suspensions) {
+      if (suspension.overrides.contains(protocol)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Suspension {
+    final String name;
+    final Set<Class<?>> overrides;
+
+    Suspension(final String name, final Class<?>[] overrides) {
+      this.name = name;
+      this.overrides = new HashSet<>(Arrays.asList(overrides));
+    }
+  }
+}
@@ -0,0 +1,266 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Scheduled;
+import io.vlingo.common.Scheduler;
+
+/**
+ * Relocates the actors of scheduled addresses at a bounded pace, rather than
+ * all at once when the hash-ring changes. Every {@code interval} milliseconds
+ * it relocates up to {@code concurrency} batches of at most {@code batchSize}
+ * addresses in parallel on its {@code executor}, and fewer once the batches
+ * of the previous intervals spent the {@code bytesPerInterval} budget, if any.
+ * <p>
+ * The {@code relocator} relocates each batch and answers how many of its actors
+ * it relocated and in how many bytes, deciding on each address when its turn
+ * comes, so that addresses the hash-ring assigns back to this node meanwhile
+ * stay here. Until then, messages to a scheduled address wait in the suspended
+ * thunk on its new node, so an address that waited {@code maxDelay} milliseconds
+ * is relocated regardless of the pace, before the calls waiting for it time out.
+ * <p>
+ * Changes of the hash-ring are also applied to the resident actors on my ticks,
+ * in the order submitted, so that the cluster callbacks need not walk them.
+ */
+final class RelocationScheduler implements Scheduled<Object> {
+  private final Function<List<Address>, Relocated> relocator;
+  private final Scheduler scheduler;
+  private final ExecutorService executor;
+  private final Logger logger;
+  private final int batchSize;
+  private final long interval;
+  private final int concurrency;
+  private final long bytesPerInterval;
+  private final long maxDelay;
+  private final LongSupplier clock;
+
+  private final Queue<Runnable> changes = new ConcurrentLinkedQueue<>();
+  private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicLong remaining = new AtomicLong();
+  private final AtomicLong scheduled = new AtomicLong();
+  private final AtomicLong relocated = new AtomicLong();
+  private long budget; // only used by intervalSignal(), which the scheduler never runs concurrently
+  private Cancellable ticking;
+
+  RelocationScheduler(
+      final Function<List<Address>, Relocated> relocator,
+      final Scheduler scheduler,
+      final ExecutorService executor,
+      final Logger logger,
+      final int batchSize,
+      final long interval,
+      final int concurrency,
+      final long bytesPerInterval,
+      final long maxDelay) {
+    this(relocator, scheduler, executor, logger, batchSize, interval, concurrency, bytesPerInterval, maxDelay, System::currentTimeMillis);
+  }
+
+  RelocationScheduler(
+      final Function<List<Address>, Relocated> relocator,
+      final Scheduler scheduler,
+      final ExecutorService executor,
+      final Logger logger,
+      final int batchSize,
+      final long interval,
+      final int concurrency,
+      final long bytesPerInterval,
+      final long maxDelay,
+      final LongSupplier clock) {
+    this.relocator = relocator;
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.logger = logger;
+    this.batchSize = batchSize;
+    this.interval = interval;
+    this.concurrency = concurrency;
+    this.bytesPerInterval = bytesPerInterval;
+    this.maxDelay = maxDelay;
+    this.clock = clock;
+  }
+
+  void schedule(final Collection<Address> addresses) {
+    if (addresses.isEmpty()) {
+      return;
+    }
+    final long now = clock.getAsLong();
+    addresses.forEach(address -> pending.add(new Pending(address, now)));
+    remaining.addAndGet(addresses.size());
+    scheduled.addAndGet(addresses.size());
+    logger.debug("GRID: Scheduled {} actors for relocation, {} remaining", addresses.size(), remaining.get());
+    tick();
+  }
+
+  /**
+   * Runs the {@code change} of the resident actors on my next tick, after the
+   * changes submitted before it.
+   * @param change the Runnable to run
+   */
+  void change(final Runnable change) {
+    changes.add(change);
+    tick();
+  }
+
+  /**
+   * Relocates the actors of {@code addresses} at once, in batches of at most
+   * {@code batchSize} addresses on my {@code executor}, rather than at my pace.
+   * @param addresses the List of Address of the actors to relocate
+   * @return Relocated
+   */
+  Relocated relocateNow(final List<Address> addresses) {
+    final List<List<Address>> batches = new ArrayList<>((addresses.size() + batchSize - 1) / batchSize);
+    for (int from = 0; from < addresses.size(); from += batchSize) {
+      batches.add(addresses.subList(from, Math.min(addresses.size(), from + batchSize)));
+    }
+    return relocate(batches);
+  }
+
+  long remaining() {
+    return remaining.get();
+  }
+
+  long scheduled() {
+    return scheduled.get();
+  }
+
+  long relocated() {
+    return relocated.get();
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    Runnable change;
+    while ((change = changes.poll()) != null) {
+      change.run();
+    }
+
+    if (bytesPerInterval > 0) {
+      budget = Math.min(bytesPerInterval, budget + bytesPerInterval);
+    }
+    final List<List<Address>> batches = batches(bytesPerInterval == 0 || budget > 0);
+    final Relocated done = relocate(batches);
+    if (bytesPerInterval > 0) {
+      budget -= done.bytes;
+    }
+    relocated.addAndGet(done.actors);
+
+    if (!batches.isEmpty()) {
+      logger.debug("GRID: Relocated {} of {} scheduled actors, {} remaining", relocated.get(), this.scheduled.get(), remaining.get());
+    }
+
+    if (pending.isEmpty() && changes.isEmpty()) {
+      synchronized (this) {
+        if (pending.isEmpty() && changes.isEmpty() && ticking != null) {
+          ticking.cancel();
+          ticking = null;
+        }
+      }
+    }
+  }
+
+  private synchronized void tick() {
+    if (ticking == null) {
+      ticking = scheduler.schedule(this, null, interval, interval);
+    }
+  }
+
+  /**
+   * Answers up to {@code concurrency} batches if {@code paced}, and then the
+   * batches of the addresses that waited {@code maxDelay} milliseconds.
+   */
+  private List<List<Address>> batches(final boolean paced) {
+    final List<List<Address>> batches = new ArrayList<>(concurrency + 1);
+    for (int count = 0; paced && count < concurrency && !pending.isEmpty(); ++count) {
+      final List<Address> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+      Pending next;
+      while (batch.size() < batchSize && (next = pending.poll()) != null) {
+        batch.add(next.address);
+      }
+      batches.add(batch);
+    }
+    final long overdue = clock.getAsLong() - maxDelay;
+    int late = 0;
+    List<Address> batch = null;
+    Pending next;
+    while ((next = pending.peek()) != null && next.scheduledAt <= overdue) {
+      if (batch == null || batch.size() == batchSize) {
+        batch = new ArrayList<>();
+        batches.add(batch);
+      }
+      batch.add(pending.poll().address);
+      ++late;
+    }
+    if (late > 0) {
+      logger.debug("GRID: Relocating {} actors that waited over {} ms", late, maxDelay);
+    }
+    batches.forEach(relocating -> remaining.addAndGet(-relocating.size()));
+    return batches;
+  }
+
+  private Relocated relocate(final List<List<Address>> batches) {
+    if (batches.size() <= 1) {
+      return batches.isEmpty() ? Relocated.None : relocator.apply(batches.get(0));
+    }
+    final List<Callable<Relocated>> relocations = new ArrayList<>(batches.size());
+    batches.forEach(batch -> relocations.add(() -> relocator.apply(batch)));
+    int actors = 0;
+    long bytes = 0;
+    try {
+      for (final Future<Relocated> relocation : executor.invokeAll(relocations)) {
+        try {
+          final Relocated batch = relocation.get();
+          actors += batch.actors;
+          bytes += batch.bytes;
+        } catch (ExecutionException e) {
+          logger.error("GRID: Failed to relocate a batch of actors", e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return new Relocated(actors, bytes);
+  }
+
+  /**
+   * The number of actors relocated and the number of bytes they were sent in.
+   */
+  static final class Relocated {
+    static final Relocated None = new Relocated(0, 0);
+
+    final int actors;
+    final long bytes;
+
+    Relocated(final int actors, final long bytes) {
+      this.actors = actors;
+      this.bytes = bytes;
+    }
+  }
+
+  private static final class Pending {
+    final Address address;
+    final long scheduledAt;
+
+    Pending(final Address address, final long scheduledAt) {
+      this.address = address;
+      this.scheduledAt = scheduledAt;
+    }
+  }
+}
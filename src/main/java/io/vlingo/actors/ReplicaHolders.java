@@ -0,0 +1,73 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import io.vlingo.wire.node.Id;
+
+/**
+ * Selects the nodes that hold the replicas of an actor, which are the
+ * {@code count} nodes other than its owner of the highest rendezvous hash of
+ * the address and the node, so that every node of the same nodes selects the
+ * same holders and a node joining or leaving changes few of them.
+ */
+final class ReplicaHolders {
+  private ReplicaHolders() { }
+
+  /**
+   * Answers the holders of the replicas of the actor at {@code address}, of
+   * the {@code nodes} other than its {@code owner}.
+   * @param address the Address of the actor
+   * @param owner the Id of the node that owns the actor
+   * @param nodes the Collection of Id of all nodes of the hash-ring
+   * @param count the int maximum number of holders
+   * @return {@code List<Id>}
+   */
+  static List<Id> of(final Address address, final Id owner, final Collection<Id> nodes, final int count) {
+    if (count <= 0 || nodes.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final long key = keyOf(address);
+    final List<Id> candidates = new ArrayList<>(nodes.size());
+    for (final Id node : nodes) {
+      if (!node.equals(owner)) {
+        candidates.add(node);
+      }
+    }
+    if (candidates.size() > count) {
+      candidates.sort((first, second) -> Long.compareUnsigned(rank(key, second), rank(key, first)));
+      return new ArrayList<>(candidates.subList(0, count));
+    }
+    return candidates;
+  }
+
+  private static long keyOf(final Address address) {
+    final Object id = address.idTyped();
+    if (id instanceof UUID) {
+      final UUID uuid = (UUID) id;
+      return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+    }
+    return mix(address.idString().hashCode());
+  }
+
+  private static long rank(final long key, final Id node) {
+    return mix(key ^ mix(node.value()));
+  }
+
+  // the finalizer of SplitMix64
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+}
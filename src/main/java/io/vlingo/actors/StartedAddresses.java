@@ -0,0 +1,50 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.actors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The addresses of the remote actors that this node started, of which the
+ * least recently used are evicted beyond {@code capacity}. All addresses are
+ * forgotten when the epoch of the hash-ring changes, as the actors may then
+ * be started on other nodes.
+ */
+final class StartedAddresses {
+  private final Map<Address, Boolean> addresses;
+  private long epoch;
+
+  @SuppressWarnings("serial")
+  StartedAddresses(final int capacity) {
+    this.addresses = new LinkedHashMap<Address, Boolean>(Math.min(capacity, 1024), 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Address, Boolean> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Records the actor at {@code address} as started during {@code epoch}.
+   * @param address the Address of the actor
+   * @param epoch the long epoch of the hash-ring
+   * @return boolean true if it was not known to be started yet
+   */
+  synchronized boolean add(final Address address, final long epoch) {
+    if (this.epoch != epoch) {
+      addresses.clear();
+      this.epoch = epoch;
+    }
+    return addresses.put(address, Boolean.TRUE) == null;
+  }
+
+  synchronized int size() {
+    return addresses.size();
+  }
+}
@@ -0,0 +1,504 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.vlingo.lattice.grid.application.CorrelationRegistry;
+import io.vlingo.lattice.grid.hashring.HashRing;
+import io.vlingo.lattice.grid.hashring.MurmurSnapshotHashRing;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Settings of a {@code Grid} node that are not cluster properties.
+ * All optional features are disabled by default.
+ */
+public class GridConfiguration {
+  private long answerTimeout = CorrelationRegistry.DefaultTimeout;
+  private int creditWindow;
+  private int creditMaxBuffered;
+  private long creditResyncTimeout;
+  private Supplier<HashRing<Id>> hashRingFactory = () -> new MurmurSnapshotHashRing<>(100);
+  private boolean drainOnShutdown;
+  private long hotActorRate;
+  private long hotActorInterval;
+  private int inboundDecodingWorkers;
+  private int inboundDecodingMaxPending;
+  private boolean methodInvocations;
+  private int nodeWeight = 1;
+  private int outboundBatchSize;
+  private long outboundBatchDelay;
+  private int priorityLaneThreads;
+  private int priorityLaneThroughput;
+  private final List<Class<?>> registeredClasses = new ArrayList<>();
+  private int relocationBatchSize = 1_000;
+  private long relocationBytesPerInterval;
+  private int relocationConcurrency = 1;
+  private long relocationInterval = 50;
+  private long relocationMaxDelay;
+  private int replicaCount;
+  private int startedAddressCapacity;
+  private final Map<Class<?>, Integer> traceSampling = new LinkedHashMap<>();
+
+  public static GridConfiguration define() {
+    return new GridConfiguration();
+  }
+
+  /**
+   * Sets the milliseconds after which a remote actor call that was not answered
+   * fails with a {@code TimeoutException}.
+   * @param answerTimeout the long milliseconds to wait for an answer, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withAnswerTimeout(final long answerTimeout) {
+    if (answerTimeout <= 0) {
+      throw new IllegalArgumentException("The answerTimeout must be greater than zero.");
+    }
+    this.answerTimeout = answerTimeout;
+    return this;
+  }
+
+  public long answerTimeout() {
+    return answerTimeout;
+  }
+
+  /**
+   * Enables credit-based flow control of the messages delivered to the actors
+   * of other nodes, of which the credits of a stalled node are restored after
+   * one second.
+   * @param window the int maximum messages in flight per node, greater than one
+   * @param maxBuffered the int maximum messages held per node, not negative
+   * @return GridConfiguration
+   * @see #withCreditFlow(int, int, long)
+   */
+  public GridConfiguration withCreditFlow(final int window, final int maxBuffered) {
+    return withCreditFlow(window, maxBuffered, 1_000);
+  }
+
+  /**
+   * Enables credit-based flow control of the messages delivered to the actors
+   * of other nodes. At most {@code window} messages are in flight to a node,
+   * which grants credits back as its actors finish running them. Messages sent
+   * without credit are held, up to {@code maxBuffered} per node, and dropped
+   * beyond, so that a slow node does not grow the memory of the others. A node
+   * that was granted no credit for {@code resyncTimeout} milliseconds while
+   * holding messages, such as after a lost grant, gets its full window back.
+   * Must be enabled with the same {@code window} on all nodes of the grid.
+   * @param window the int maximum messages in flight per node, greater than one
+   * @param maxBuffered the int maximum messages held per node, not negative
+   * @param resyncTimeout the long milliseconds without credit after which the window is restored, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withCreditFlow(final int window, final int maxBuffered, final long resyncTimeout) {
+    if (window < 2) {
+      throw new IllegalArgumentException("The window must be greater than one.");
+    }
+    if (maxBuffered < 0) {
+      throw new IllegalArgumentException("The maxBuffered must not be negative.");
+    }
+    if (resyncTimeout <= 0) {
+      throw new IllegalArgumentException("The resyncTimeout must be greater than zero.");
+    }
+    this.creditWindow = window;
+    this.creditMaxBuffered = maxBuffered;
+    this.creditResyncTimeout = resyncTimeout;
+    return this;
+  }
+
+  public boolean isCreditFlow() {
+    return creditWindow > 0;
+  }
+
+  public int creditWindow() {
+    return creditWindow;
+  }
+
+  public int creditMaxBuffered() {
+    return creditMaxBuffered;
+  }
+
+  public long creditResyncTimeout() {
+    return creditResyncTimeout;
+  }
+
+  /**
+   * Sets whether this node hands off its actors to the other nodes when it shuts
+   * down, such as during a rolling deploy, rather than leaving them to be
+   * restored cold on their next message.
+   * @param drainOnShutdown the boolean indicating whether to drain on shutdown
+   * @return GridConfiguration
+   */
+  public GridConfiguration withDrainOnShutdown(final boolean drainOnShutdown) {
+    this.drainOnShutdown = drainOnShutdown;
+    return this;
+  }
+
+  public boolean isDrainOnShutdown() {
+    return drainOnShutdown;
+  }
+
+  /**
+   * Sets the factory of the {@code HashRing} that assigns actors to nodes, such
+   * as a {@code JumpHashRing} or {@code RendezvousHashRing} for large grids.
+   * All nodes of a grid must use the same kind of {@code HashRing}.
+   * @param hashRingFactory the {@code Supplier<HashRing<Id>>} of an empty HashRing
+   * @return GridConfiguration
+   */
+  public GridConfiguration withHashRing(final Supplier<HashRing<Id>> hashRingFactory) {
+    if (hashRingFactory == null) {
+      throw new IllegalArgumentException("The hashRingFactory must not be null.");
+    }
+    this.hashRingFactory = hashRingFactory;
+    return this;
+  }
+
+  public Supplier<HashRing<Id>> hashRingFactory() {
+    return hashRingFactory;
+  }
+
+  /**
+   * Enables moving hot actors off this node while it is more loaded than the
+   * least loaded node. Every {@code interval} milliseconds, this node estimates
+   * the message rate of its actors from samples, advertises its total rate as a
+   * cluster attribute, and places a few actors of at least {@code hotActorRate}
+   * messages per second on the least loaded node, if that evens out the load.
+   * A placed actor returns to its hashed node once it turns cold.
+   * @param hotActorRate the long messages per second from which an actor is hot, greater than zero
+   * @param interval the long milliseconds between balancing rounds, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withHotActorBalancing(final long hotActorRate, final long interval) {
+    if (hotActorRate <= 0) {
+      throw new IllegalArgumentException("The hotActorRate must be greater than zero.");
+    }
+    if (interval <= 0) {
+      throw new IllegalArgumentException("The interval must be greater than zero.");
+    }
+    this.hotActorRate = hotActorRate;
+    this.hotActorInterval = interval;
+    return this;
+  }
+
+  public boolean isHotActorBalancing() {
+    return hotActorRate > 0;
+  }
+
+  public long hotActorRate() {
+    return hotActorRate;
+  }
+
+  public long hotActorInterval() {
+    return hotActorInterval;
+  }
+
+  /**
+   * Enables the decoding of received messages on {@code workers} threads, of
+   * which the throughput would otherwise be that of the single thread that
+   * receives them. Messages are still delivered in the order received. Once
+   * {@code maxPending} messages wait to be decoded, the receiving thread
+   * decodes them itself.
+   * @param workers the int number of decoding threads, greater than zero
+   * @param maxPending the int maximum messages waiting to be decoded, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withInboundDecoding(final int workers, final int maxPending) {
+    if (workers <= 0) {
+      throw new IllegalArgumentException("The workers must be greater than zero.");
+    }
+    if (maxPending <= 0) {
+      throw new IllegalArgumentException("The maxPending must be greater than zero.");
+    }
+    this.inboundDecodingWorkers = workers;
+    this.inboundDecodingMaxPending = maxPending;
+    return this;
+  }
+
+  public boolean isInboundDecoding() {
+    return inboundDecodingWorkers > 0;
+  }
+
+  public int inboundDecodingWorkers() {
+    return inboundDecodingWorkers;
+  }
+
+  public int inboundDecodingMaxPending() {
+    return inboundDecodingMaxPending;
+  }
+
+  /**
+   * Sets whether the messages sent through the generated proxies of remote
+   * actors are sent as the id of the protocol method and its arguments, rather
+   * than as the serialized lambda that calls it, which also captures the proxy.
+   * Every node of the grid must have the same version of the protocols.
+   * @param methodInvocations the boolean indicating whether to send method invocations
+   * @return GridConfiguration
+   */
+  public GridConfiguration withMethodInvocations(final boolean methodInvocations) {
+    this.methodInvocations = methodInvocations;
+    return this;
+  }
+
+  public boolean isMethodInvocations() {
+    return methodInvocations;
+  }
+
+  /**
+   * Sets the weight of this node, which the other nodes learn through a cluster
+   * attribute, so that this node is assigned actors in proportion to its weight
+   * relative to the weights of the other nodes, such as its number of cores.
+   * @param nodeWeight the int weight of this node, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withNodeWeight(final int nodeWeight) {
+    if (nodeWeight <= 0) {
+      throw new IllegalArgumentException("The nodeWeight must be greater than zero.");
+    }
+    this.nodeWeight = nodeWeight;
+    return this;
+  }
+
+  public int nodeWeight() {
+    return nodeWeight;
+  }
+
+  /**
+   * Enables coalescing of outbound messages per recipient node. Pending messages
+   * are sent as a single frame once {@code maxMessages} are pending, or when
+   * {@code maxDelay} milliseconds passed since the first of them, whichever
+   * comes first.
+   * @param maxMessages the int maximum number of messages per batch, greater than one
+   * @param maxDelay the long maximum milliseconds a message waits to be sent, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withOutboundBatching(final int maxMessages, final long maxDelay) {
+    if (maxMessages < 2) {
+      throw new IllegalArgumentException("The maxMessages must be greater than one.");
+    }
+    if (maxDelay <= 0) {
+      throw new IllegalArgumentException("The maxDelay must be greater than zero.");
+    }
+    this.outboundBatchSize = maxMessages;
+    this.outboundBatchDelay = maxDelay;
+    return this;
+  }
+
+  public boolean isOutboundBatching() {
+    return outboundBatchSize > 0;
+  }
+
+  public int outboundBatchSize() {
+    return outboundBatchSize;
+  }
+
+  public long outboundBatchDelay() {
+    return outboundBatchDelay;
+  }
+
+  /**
+   * Enables the priority lane mailboxes of grid actors, which deliver grid
+   * control and relocation messages ahead of pending application messages,
+   * such as a {@code Stoppable} or a relocation snapshot queued behind a
+   * backlog. The mailboxes are run by {@code threads} threads of the grid,
+   * each delivering up to {@code throughput} messages at a time.
+   * @param threads the int number of delivering threads, greater than zero
+   * @param throughput the int maximum messages delivered per run, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withPriorityLanes(final int threads, final int throughput) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("The threads must be greater than zero.");
+    }
+    if (throughput <= 0) {
+      throw new IllegalArgumentException("The throughput must be greater than zero.");
+    }
+    this.priorityLaneThreads = threads;
+    this.priorityLaneThroughput = throughput;
+    return this;
+  }
+
+  public boolean isPriorityLanes() {
+    return priorityLaneThreads > 0;
+  }
+
+  public int priorityLaneThreads() {
+    return priorityLaneThreads;
+  }
+
+  public int priorityLaneThroughput() {
+    return priorityLaneThroughput;
+  }
+
+  /**
+   * Registers the {@code types} for serialization, such as the protocols of
+   * the grid actors and the classes of their messages and state, which are
+   * then written as short ids rather than by name. Every node of the grid must
+   * register the same classes in the same order.
+   * @param types the {@code Class<?>...} to register
+   * @return GridConfiguration
+   */
+  public GridConfiguration withRegisteredClasses(final Class<?>... types) {
+    this.registeredClasses.addAll(Arrays.asList(types));
+    return this;
+  }
+
+  public Class<?>[] registeredClasses() {
+    return registeredClasses.toArray(new Class<?>[0]);
+  }
+
+  /**
+   * Sets the budget of the relocations to a node that joins the grid, of which
+   * up to {@code concurrency} batches are sent in parallel every interval of
+   * the {@code withRelocationPacing()}, and fewer once the batches sent spent
+   * {@code bytesPerInterval} on average, or any number of bytes if zero.
+   * @param concurrency the int maximum number of batches relocated per interval, greater than zero
+   * @param bytesPerInterval the long maximum bytes relocated per interval on average, not negative
+   * @return GridConfiguration
+   */
+  public GridConfiguration withRelocationBudget(final int concurrency, final long bytesPerInterval) {
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("The concurrency must be greater than zero.");
+    }
+    if (bytesPerInterval < 0) {
+      throw new IllegalArgumentException("The bytesPerInterval must not be negative.");
+    }
+    this.relocationConcurrency = concurrency;
+    this.relocationBytesPerInterval = bytesPerInterval;
+    return this;
+  }
+
+  public int relocationConcurrency() {
+    return relocationConcurrency;
+  }
+
+  public long relocationBytesPerInterval() {
+    return relocationBytesPerInterval;
+  }
+
+  /**
+   * Sets the milliseconds after which an actor that waits for its turn to move
+   * to a node that joined the grid is relocated regardless of the pace, as the
+   * messages to it are held on that node meanwhile. Defaults to half of the
+   * {@code answerTimeout()}, so that the calls held do not time out.
+   * @param maxDelay the long maximum milliseconds an actor waits to be relocated, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withRelocationMaxDelay(final long maxDelay) {
+    if (maxDelay <= 0) {
+      throw new IllegalArgumentException("The maxDelay must be greater than zero.");
+    }
+    this.relocationMaxDelay = maxDelay;
+    return this;
+  }
+
+  public long relocationMaxDelay() {
+    return relocationMaxDelay > 0 ? relocationMaxDelay : answerTimeout / 2;
+  }
+
+  /**
+   * Sets the pace at which actors move to a node that joins the grid, which is
+   * a batch of at most {@code batchSize} actors every {@code interval} milliseconds, so
+   * that a join does not flood the network or stall this node. Messages to the
+   * actors that wait for their turn are held on the joining node meanwhile.
+   * @param batchSize the int maximum number of actors relocated per batch, greater than zero
+   * @param interval the long milliseconds between batches, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withRelocationPacing(final int batchSize, final long interval) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("The batchSize must be greater than zero.");
+    }
+    if (interval <= 0) {
+      throw new IllegalArgumentException("The interval must be greater than zero.");
+    }
+    this.relocationBatchSize = batchSize;
+    this.relocationInterval = interval;
+    return this;
+  }
+
+  public int relocationBatchSize() {
+    return relocationBatchSize;
+  }
+
+  public long relocationInterval() {
+    return relocationInterval;
+  }
+
+  /**
+   * Sets the number of nodes, other than its owner, that hold a replica of a
+   * grid actor that calls {@code replicate()}, which serves the read-only calls
+   * made on those nodes. The holders are chosen per actor, so that the replicas
+   * of all actors are spread over the grid. By default no actor is replicated.
+   * @param replicaCount the int maximum number of replicas per actor, not negative
+   * @return GridConfiguration
+   */
+  public GridConfiguration withReplicaCount(final int replicaCount) {
+    if (replicaCount < 0) {
+      throw new IllegalArgumentException("The replicaCount must not be negative.");
+    }
+    this.replicaCount = replicaCount;
+    return this;
+  }
+
+  public int replicaCount() {
+    return replicaCount;
+  }
+
+  /**
+   * Enables skipping the {@code Start} of a remote actor when this node already
+   * started it since the last change of the hash-ring, remembering at most
+   * {@code capacity} of the most recently started actors. This suits actors
+   * that are not stopped, such as entities, since an actor stopped on its node
+   * is not started again by this node until it is forgotten.
+   * @param capacity the int maximum number of started actors remembered, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withStartSuppression(final int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be greater than zero.");
+    }
+    this.startedAddressCapacity = capacity;
+    return this;
+  }
+
+  public boolean isStartSuppression() {
+    return startedAddressCapacity > 0;
+  }
+
+  public int startedAddressCapacity() {
+    return startedAddressCapacity;
+  }
+
+  /**
+   * Samples the debug traces of the messages of the {@code messageType}, of
+   * which one in every {@code rate} is traced. Messages of types without a
+   * rate are all traced while debug logging is enabled. Types are the classes
+   * of the grid messages, {@code RawMessage} for received frames, and
+   * {@code GridMailbox} for the calls to the mailboxes of remote actors.
+   * Rates apply to the grid of this configuration only.
+   * @param messageType the Class of the messages to sample
+   * @param rate the int one in how many messages are traced, greater than zero
+   * @return GridConfiguration
+   */
+  public GridConfiguration withTraceSampling(final Class<?> messageType, final int rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("The rate must be greater than zero.");
+    }
+    this.traceSampling.put(messageType, rate);
+    return this;
+  }
+
+  public Map<Class<?>, Integer> traceSampling() {
+    return Collections.unmodifiableMap(traceSampling);
+  }
+}
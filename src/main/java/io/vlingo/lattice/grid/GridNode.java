@@ -9,58 +9,109 @@ package io.vlingo.lattice.grid;
 
 import io.vlingo.actors.Grid;
 import io.vlingo.actors.InboundGridActorControl;
-import io.vlingo.actors.Returns;
 import io.vlingo.cluster.model.application.ClusterApplicationAdapter;
 import io.vlingo.cluster.model.attribute.Attribute;
 import io.vlingo.cluster.model.attribute.AttributesProtocol;
-import io.vlingo.lattice.grid.application.ApplicationMessageHandler;
+import io.vlingo.common.Cancellable;
+import io.vlingo.lattice.grid.application.CorrelationRegistry;
 import io.vlingo.lattice.grid.application.GridApplicationMessageHandler;
 import io.vlingo.lattice.grid.application.OutboundGridActorControl;
-import io.vlingo.lattice.grid.application.message.serialization.FSTDecoder;
-import io.vlingo.lattice.grid.application.message.serialization.FSTEncoder;
+import io.vlingo.lattice.grid.application.message.serialization.BinaryDecoder;
+import io.vlingo.lattice.grid.application.message.serialization.BinaryEncoder;
+import io.vlingo.lattice.grid.application.message.serialization.SerializationRegistry;
 import io.vlingo.wire.fdx.outbound.ApplicationOutboundStream;
 import io.vlingo.wire.message.RawMessage;
 import io.vlingo.wire.node.Id;
 import io.vlingo.wire.node.Node;
-import org.nustaq.serialization.FSTConfiguration;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class GridNode extends ClusterApplicationAdapter {
 
-  private static final FSTConfiguration CONF = FSTConfiguration.createDefaultConfiguration();
-  private static final Map<UUID, Returns<?>> correlation = new HashMap<>();
+  private final GridTrace trace;
+
+  public static final String NodeLoads = "vlingo-grid-node-loads";
+  public static final String NodeWeights = "vlingo-grid-node-weights";
+  public static final String Placements = "vlingo-grid-placements";
 
   private AttributesProtocol client;
+  private final CorrelationRegistry correlation;
   private final Grid grid;
   private final Node localNode;
 
   private final OutboundGridActorControl outbound;
+  private final PlacementBalancer balancer;
+  private Cancellable balancing;
 
-  final ApplicationMessageHandler applicationMessageHandler;
+  final GridApplicationMessageHandler applicationMessageHandler;
 
   public GridNode(final Grid grid, final Node localNode) {
     this.grid = grid;
     this.localNode = localNode;
-    this.outbound = new OutboundGridActorControl(localNode.id(), new FSTEncoder(CONF), correlation::put);
+    this.trace = GridTrace.of(GridNode.class, grid.traceSampling());
+    final GridConfiguration configuration = grid.gridConfiguration();
+    this.correlation = new CorrelationRegistry(localNode.id(), grid.world().scheduler(),
+        configuration.answerTimeout(), Math.min(configuration.answerTimeout(), CorrelationRegistry.DefaultTickInterval));
+    final SerializationRegistry registry = new SerializationRegistry()
+        .registerGridClasses()
+        .register(configuration.registeredClasses());
+    this.outbound = new OutboundGridActorControl(localNode.id(), new BinaryEncoder(registry), correlation::correlate);
+    if (configuration.isOutboundBatching()) {
+      this.outbound.useBatching(grid.world().scheduler(),
+          configuration.outboundBatchSize(), configuration.outboundBatchDelay());
+    }
+    if (configuration.isCreditFlow()) {
+      this.outbound.useCreditFlow(grid.world().scheduler(), configuration.creditWindow(),
+          configuration.creditMaxBuffered(), configuration.creditResyncTimeout());
+    }
+    if (configuration.isMethodInvocations()) {
+      this.outbound.useMethodInvocations();
+    }
+    this.outbound.useRingMembership(grid);
+    this.outbound.useTraceSampling(grid.traceSampling());
     this.grid.setOutbound(outbound);
     final InboundGridActorControl inbound = new InboundGridActorControl(logger(), grid, correlation::remove);
     this.applicationMessageHandler = new GridApplicationMessageHandler(
-        localNode.id(), grid.hashRing(), inbound, outbound, new FSTDecoder(CONF));
+        localNode.id(), grid.hashRing(), inbound, outbound, new BinaryDecoder(registry), grid);
+    this.applicationMessageHandler.useTraceSampling(grid.traceSampling());
+    if (configuration.isInboundDecoding()) {
+      this.applicationMessageHandler.useDecodingWorkers(
+          configuration.inboundDecodingWorkers(), configuration.inboundDecodingMaxPending(), logger());
+    }
+    this.balancer = configuration.isHotActorBalancing()
+        ? new PlacementBalancer(localNode.id(), grid, grid.messageSampler()::drain, logger(),
+            configuration.hotActorRate(), configuration.hotActorInterval())
+        : null;
   }
 
   @Override
   public void start() {
     logger().debug("GRID: Started on node: " + localNode);
-    grid.hashRing().includeNode(localNode.id());
+    final int weight = grid.gridConfiguration().nodeWeight();
+    grid.nodeWeighted(localNode.id(), weight);
+    grid.hashRing().includeNode(localNode.id(), weight);
+    if (balancer != null) {
+      final long interval = grid.gridConfiguration().hotActorInterval();
+      balancing = grid.world().scheduler().schedule(balancer, null, interval, interval);
+    }
+  }
+
+  @Override
+  protected void afterStop() {
+    if (balancing != null) {
+      balancing.cancel();
+    }
+    correlation.close();
+    outbound.close();
+    applicationMessageHandler.close();
   }
 
   @Override
   public void handleApplicationMessage(final RawMessage message) {
-    logger().debug("GRID: Received application message: " + message.asTextMessage());
+    if (trace.isTraced(RawMessage.class)) {
+      trace.trace("frame", "sender", message.header().nodeId(), "length", message.length());
+    }
     applicationMessageHandler.handle(message);
   }
 
@@ -69,10 +120,11 @@ public class GridNode extends ClusterApplicationAdapter {
     this.outbound.setStream(responder);
   }
 
-  // hashring ??? THIS ONE ONLY?
+  // hashring
   @Override
   public void informAllLiveNodes(final Collection<Node> liveNodes, final boolean isHealthyCluster) {
     logger().debug("GRID: Live nodes confirmed: " + liveNodes + " and is healthy: " + isHealthyCluster);
+    grid.nodesLive(liveNodes.stream().map(Node::id).collect(Collectors.toList()));
   }
 
   @Override
@@ -93,6 +145,7 @@ public class GridNode extends ClusterApplicationAdapter {
   @Override
   public void informLocalNodeShutDown(final Id nodeId) {
     logger().debug("GRID: Local node shut down: " + nodeId);
+    outbound.flush();
   }
 
   @Override
@@ -110,13 +163,18 @@ public class GridNode extends ClusterApplicationAdapter {
   public void informNodeJoinedCluster(final Id nodeId, final boolean isHealthyCluster) {
     logger().debug("GRID: Node joined: " + nodeId + " and is healthy: " + isHealthyCluster);
     grid.nodeJoined(nodeId);
+    outbound.resetCredits(nodeId, true);
   }
 
   // hashring
   @Override
   public void informNodeLeftCluster(final Id nodeId, final boolean isHealthyCluster) {
     logger().debug("GRID: Node left: " + nodeId + " and is healthy: " + isHealthyCluster);
-    grid.hashRing().excludeNode(nodeId);
+    grid.nodeLeft(nodeId);
+    outbound.resetCredits(nodeId, false);
+    if (balancer != null) {
+      balancer.nodeLeft(nodeId);
+    }
   }
 
   @Override
@@ -133,6 +191,10 @@ public class GridNode extends ClusterApplicationAdapter {
   public void informAttributesClient(final AttributesProtocol client) {
     logger().debug("GRID: Attributes Client received.");
     this.client = client;
+    client.add(NodeWeights, localNode.id().valueString(), String.valueOf(grid.gridConfiguration().nodeWeight()));
+    if (balancer != null) {
+      balancer.client(client);
+    }
   }
 
   @Override
@@ -144,12 +206,16 @@ public class GridNode extends ClusterApplicationAdapter {
   public void informAttributeAdded(final String attributeSetName, final String attributeName) {
     final Attribute<String> attr = client.attribute(attributeSetName, attributeName);
     logger().debug("GRID: Attribute Set " + attributeSetName + " Attribute Added: " + attributeName + " Value: " + attr.value);
+    attributeChanged(attributeSetName, attributeName, attr);
   }
 
   @Override
   public void informAttributeRemoved(final String attributeSetName, final String attributeName) {
     final Attribute<String> attr = client.attribute(attributeSetName, attributeName);
     logger().debug("GRID: Attribute Set " + attributeSetName + " Attribute Removed: " + attributeName + " Attribute: " + attr);
+    if (Placements.equals(attributeSetName)) {
+      grid.unplace(grid.addressFactory().from(attributeName));
+    }
   }
 
   @Override
@@ -161,5 +227,54 @@ public class GridNode extends ClusterApplicationAdapter {
   public void informAttributeReplaced(final String attributeSetName, final String attributeName) {
     final Attribute<String> attr = client.attribute(attributeSetName, attributeName);
     logger().debug("GRID: Attribute Set " + attributeSetName + " Attribute Replaced: " + attributeName + " Value: " + attr.value);
+    attributeChanged(attributeSetName, attributeName, attr);
+  }
+
+  private void attributeChanged(final String attributeSetName, final String attributeName, final Attribute<String> attr) {
+    if (attr == null) {
+      return;
+    }
+    if (NodeWeights.equals(attributeSetName)) {
+      nodeWeighted(attributeSetName, attributeName, attr);
+    } else if (NodeLoads.equals(attributeSetName)) {
+      nodeLoaded(attributeName, attr);
+    } else if (Placements.equals(attributeSetName)) {
+      placed(attributeName, attr);
+    }
+  }
+
+  private void nodeLoaded(final String attributeName, final Attribute<String> attr) {
+    if (balancer == null) {
+      return;
+    }
+    try {
+      balancer.nodeLoaded(Id.of(Integer.parseInt(attributeName)), Long.parseLong(attr.value));
+    } catch (NumberFormatException e) {
+      logger().warn("GRID: Ignored invalid load " + attr.value + " of node " + attributeName);
+    }
+  }
+
+  private void placed(final String attributeName, final Attribute<String> attr) {
+    try {
+      grid.place(grid.addressFactory().from(attributeName), Id.of(Integer.parseInt(attr.value)));
+    } catch (IllegalArgumentException e) {
+      logger().warn("GRID: Ignored invalid placement of " + attributeName + " on node " + attr.value);
+    }
+  }
+
+  private void nodeWeighted(final String attributeSetName, final String attributeName, final Attribute<String> attr) {
+    if (!NodeWeights.equals(attributeSetName) || attr == null) {
+      return;
+    }
+    try {
+      final int weight = Integer.parseInt(attr.value);
+      if (weight > 0) {
+        grid.nodeWeighted(Id.of(Integer.parseInt(attributeName)), weight);
+        return;
+      }
+    } catch (NumberFormatException e) {
+      // ignored below
+    }
+    logger().warn("GRID: Ignored invalid weight " + attr.value + " of node " + attributeName);
   }
 }
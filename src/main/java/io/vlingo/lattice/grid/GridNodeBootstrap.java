@@ -33,7 +33,7 @@ public class GridNodeBootstrap {
                     properties,
                     nodeName);
 
-    final GridNodeBootstrap instance = new GridNodeBootstrap(control, nodeName);
+    final GridNodeBootstrap instance = new GridNodeBootstrap(grid, control, nodeName);
 
     control._2.info("Successfully started cluster node: '" + nodeName + "'");
 
@@ -48,10 +48,10 @@ public class GridNodeBootstrap {
     return clusterSnapshotControl._1;
   }
 
-  private GridNodeBootstrap(final Tuple2<ClusterSnapshotControl, Logger> control, final String nodeName) throws Exception {
+  private GridNodeBootstrap(final Grid grid, final Tuple2<ClusterSnapshotControl, Logger> control, final String nodeName) throws Exception {
     this.clusterSnapshotControl = control;
 
-    this.shutdownHook = new GridShutdownHook(nodeName, control);
+    this.shutdownHook = new GridShutdownHook(grid, nodeName, control);
     this.shutdownHook.register();
   }
 
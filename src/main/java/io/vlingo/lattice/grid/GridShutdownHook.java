@@ -7,15 +7,18 @@
 
 package io.vlingo.lattice.grid;
 
+import io.vlingo.actors.Grid;
 import io.vlingo.actors.Logger;
 import io.vlingo.cluster.model.ClusterSnapshotControl;
 import io.vlingo.common.Tuple2;
 
 final class GridShutdownHook {
   private final Tuple2<ClusterSnapshotControl, Logger> control;
+  private final Grid grid;
   private final String nodeName;
 
-  protected GridShutdownHook(final String nodeName, final Tuple2<ClusterSnapshotControl, Logger> control) {
+  protected GridShutdownHook(final Grid grid, final String nodeName, final Tuple2<ClusterSnapshotControl, Logger> control) {
+    this.grid = grid;
     this.nodeName = nodeName;
     this.control = control;
   }
@@ -26,6 +29,11 @@ final class GridShutdownHook {
       public void run() {
         control._2.info("\n==========");
         control._2.info("Stopping node: '" + nodeName + "' ...");
+        if (grid.gridConfiguration().isDrainOnShutdown()) {
+          control._2.info("Draining node: '" + nodeName + "' ...");
+          grid.drain();
+          pause();
+        }
         control._1.shutDown();
         pause();
         control._2.info("Stopped node: '" + nodeName + "'");
@@ -0,0 +1,120 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Debug tracing of the messages of the grid, which costs a single check per
+ * message while debug logging is disabled. Callers guard every trace with
+ * {@link #isTraced(Class)}, so that its fields are neither collected nor
+ * formatted unless it is written:
+ * <pre>
+ * if (trace.isTraced(Deliver.class)) {
+ *   trace.trace("send", "message", message, "recipient", recipient);
+ * }
+ * </pre>
+ * Traces are sampled per message type, of which one in every {@code rate}
+ * messages is traced, as set by {@code GridConfiguration.withTraceSampling},
+ * and all messages of types without a rate. Each grid has its own
+ * {@code Sampling}, which the traces of its components share.
+ */
+public final class GridTrace {
+  private final Logger logger;
+  private final Sampling sampling;
+
+  /**
+   * Answers the tracing of the {@code owner}, which writes to its logger and
+   * traces all messages.
+   * @param owner the Class that traces
+   * @return GridTrace
+   */
+  public static GridTrace of(final Class<?> owner) {
+    return of(owner, Sampling.All);
+  }
+
+  /**
+   * Answers the tracing of the {@code owner}, which writes to its logger and
+   * samples messages by the {@code sampling} of its grid.
+   * @param owner the Class that traces
+   * @param sampling the Sampling of the grid of the owner
+   * @return GridTrace
+   */
+  public static GridTrace of(final Class<?> owner, final Sampling sampling) {
+    return new GridTrace(LoggerFactory.getLogger(owner), sampling);
+  }
+
+  private GridTrace(final Logger logger, final Sampling sampling) {
+    this.logger = logger;
+    this.sampling = sampling;
+  }
+
+  /**
+   * Answers whether to trace this message of the {@code type}, which counts
+   * towards the sampling of the type.
+   * @param type the Class of the message
+   * @return boolean
+   */
+  public boolean isTraced(final Class<?> type) {
+    if (!logger.isDebugEnabled()) {
+      return false;
+    }
+    return sampling.isSampled(type);
+  }
+
+  /**
+   * Writes the {@code event} with its {@code fields}, given as alternating
+   * names and values.
+   * @param event the String name of the event
+   * @param fields the Object names and values of the fields of the event
+   */
+  public void trace(final String event, final Object... fields) {
+    final StringBuilder line = new StringBuilder("GRID: ").append(event);
+    for (int index = 0; index + 1 < fields.length; index += 2) {
+      line.append(' ').append(fields[index]).append('=').append(fields[index + 1]);
+    }
+    logger.debug(line.toString());
+  }
+
+  /**
+   * The sampling rates of the message types of a grid, and the count of the
+   * messages of each sampled type.
+   */
+  public static final class Sampling {
+    static final Sampling All = new Sampling(Collections.emptyMap());
+
+    private final Map<Class<?>, Integer> rates;
+    private final Map<Class<?>, AtomicLong> counts;
+
+    /**
+     * Answers the Sampling of the {@code rates} of the message types.
+     * @param rates the {@code Map<Class<?>, Integer>} of one in how many messages of a type are traced
+     * @return Sampling
+     */
+    public static Sampling of(final Map<Class<?>, Integer> rates) {
+      return rates.isEmpty() ? All : new Sampling(rates);
+    }
+
+    private Sampling(final Map<Class<?>, Integer> rates) {
+      this.rates = new HashMap<>(rates);
+      this.counts = new HashMap<>(rates.size());
+      rates.keySet().forEach(type -> counts.put(type, new AtomicLong()));
+    }
+
+    boolean isSampled(final Class<?> type) {
+      final Integer rate = rates.get(type);
+      return rate == null || counts.get(type).getAndIncrement() % rate == 0;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.GridRuntime;
+import io.vlingo.actors.Logger;
+import io.vlingo.cluster.model.attribute.AttributesProtocol;
+import io.vlingo.common.Scheduled;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Moves hot actors off this node while it is more loaded than the least loaded
+ * node, by placing them on that node regardless of the hash-ring.
+ * <p>
+ * The load of a node is the estimated rate of messages to its actors, which
+ * every node advertises in the {@code GridNode.NodeLoads} attribute set. An
+ * actor is placed on another node only if that leaves both nodes less loaded
+ * than this node was, so that hot actors do not bounce between nodes. Placements
+ * are advertised in the {@code GridNode.Placements} attribute set, so that all
+ * nodes route the actor to the same node.
+ * <p>
+ * The node that an actor is placed on expires the placement once the actor
+ * was cold, at less than half the {@code hotActorRate}, for
+ * {@code ColdRoundsToExpire} rounds in a row, so that it returns to its
+ * hashed node. No actor is placed while {@code MaximumPlacements} are.
+ */
+final class PlacementBalancer implements Scheduled<Object> {
+  private static final double Overload = 1.25;
+  private static final int MaximumPlacementsPerInterval = 4;
+  private static final int MaximumPlacements = 1024;
+  private static final int ColdRoundsToExpire = 2;
+
+  private final Id localNode;
+  private final GridRuntime grid;
+  private final Supplier<Map<Address, Long>> samples;
+  private final Logger logger;
+  private final long hotActorRate;
+  private final long interval;
+
+  private final Map<Id, Long> loads = new ConcurrentHashMap<>();
+  // only used by intervalSignal(), which the scheduler never runs concurrently
+  private final Map<Address, Integer> coldRounds = new HashMap<>();
+  private volatile AttributesProtocol client;
+
+  PlacementBalancer(final Id localNode, final GridRuntime grid, final Supplier<Map<Address, Long>> samples, final Logger logger, final long hotActorRate, final long interval) {
+    this.localNode = localNode;
+    this.grid = grid;
+    this.samples = samples;
+    this.logger = logger;
+    this.hotActorRate = hotActorRate;
+    this.interval = interval;
+  }
+
+  void client(final AttributesProtocol client) {
+    this.client = client;
+  }
+
+  void nodeLoaded(final Id node, final long load) {
+    if (!localNode.equals(node)) {
+      loads.put(node, load);
+    }
+  }
+
+  void nodeLeft(final Id node) {
+    loads.remove(node);
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    final Map<Address, Long> rates = samples.get().entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, sample -> sample.getValue() * 1000 / interval));
+    long load = rates.values().stream().mapToLong(Long::longValue).sum();
+    advertise(GridNode.NodeLoads, localNode.valueString(), String.valueOf(load));
+    expire(rates);
+
+    final Map.Entry<Id, Long> leastLoaded = loads.entrySet().stream()
+        .min(Map.Entry.comparingByValue())
+        .orElse(null);
+    if (leastLoaded == null || load <= leastLoaded.getValue() * Overload) {
+      return;
+    }
+
+    final Id target = leastLoaded.getKey();
+    long targetLoad = leastLoaded.getValue();
+    final List<Map.Entry<Address, Long>> hottest = rates.entrySet().stream()
+        .filter(rate -> rate.getValue() >= hotActorRate && localNode.equals(grid.hashRing().nodeOf(rate.getKey())))
+        .sorted(Map.Entry.<Address, Long>comparingByValue(Comparator.reverseOrder()))
+        .limit(MaximumPlacementsPerInterval)
+        .collect(Collectors.toList());
+
+    for (final Map.Entry<Address, Long> hot : hottest) {
+      final long rate = hot.getValue();
+      if (grid.placements().size() >= MaximumPlacements) {
+        break;
+      }
+      if (targetLoad + rate >= load) {
+        continue;
+      }
+      logger.debug("GRID: Placing hot actor {} of {} messages per second on node {}", hot.getKey(), rate, target);
+      grid.place(hot.getKey(), target);
+      advertise(GridNode.Placements, hot.getKey().idString(), target.valueString());
+      load -= rate;
+      targetLoad += rate;
+    }
+    loads.put(target, targetLoad);
+  }
+
+  /**
+   * Expires the placements on this node of the actors that were cold for
+   * {@code ColdRoundsToExpire} rounds in a row, given their {@code rates}.
+   */
+  private void expire(final Map<Address, Long> rates) {
+    final Map<Address, Id> placements = grid.placements();
+    coldRounds.keySet().removeIf(address -> !localNode.equals(placements.get(address)));
+    placements.forEach((address, node) -> {
+      if (!localNode.equals(node)) {
+        return;
+      }
+      if (rates.getOrDefault(address, 0L) * 2 >= hotActorRate) {
+        coldRounds.remove(address);
+      } else if (coldRounds.merge(address, 1, Integer::sum) >= ColdRoundsToExpire) {
+        coldRounds.remove(address);
+        logger.debug("GRID: Expiring placement of cold actor {} on node {}", address, localNode);
+        grid.unplace(address);
+        unadvertise(GridNode.Placements, address.idString());
+      }
+    });
+  }
+
+  private void unadvertise(final String attributeSetName, final String attributeName) {
+    final AttributesProtocol client = this.client;
+    if (client != null && client.attribute(attributeSetName, attributeName) != null) {
+      client.remove(attributeSetName, attributeName);
+    }
+  }
+
+  private void advertise(final String attributeSetName, final String attributeName, final String value) {
+    final AttributesProtocol client = this.client;
+    if (client == null) {
+      return;
+    }
+    if (client.attribute(attributeSetName, attributeName) == null) {
+      client.add(attributeSetName, attributeName, value);
+    } else {
+      client.replace(attributeSetName, attributeName, value);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.vlingo.actors.Returns;
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Scheduled;
+import io.vlingo.common.Scheduler;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Correlates the {@code Returns} of remote actor calls with their {@code Answer}.
+ * <p>
+ * Each call is assigned the next {@code CorrelationId} of this node, whose
+ * {@code sequence} indexes a lock-free table of {@code capacity} slots. Calls
+ * whose slot is still taken by an earlier call spill over into a map.
+ * <p>
+ * Entries are expired by a timer wheel that advances every {@code tickInterval}
+ * milliseconds, failing the {@code Returns} of calls not answered within
+ * {@code timeout} milliseconds with a {@code TimeoutException}. Answered
+ * entries are removed from their bucket of the wheel, so that it only holds
+ * calls in flight.
+ */
+public final class CorrelationRegistry implements Scheduled<Object> {
+  public static final int DefaultCapacity = 1 << 16;
+  public static final long DefaultTimeout = 10_000L;
+  public static final long DefaultTickInterval = 100L;
+
+  private final long origin;
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final AtomicReferenceArray<Correlation> slots;
+  private final int mask;
+  private final Map<Long, Correlation> overflow = new ConcurrentHashMap<>();
+
+  private final Set<Correlation>[] wheel;
+  private final int ticksPerTimeout;
+  private final Cancellable ticking;
+  private volatile int cursor;
+
+  private final AtomicLong inFlight = new AtomicLong();
+  private final AtomicLong expired = new AtomicLong();
+  private final AtomicLong late = new AtomicLong();
+
+  public CorrelationRegistry(final Id localNodeId, final Scheduler scheduler) {
+    this(localNodeId, scheduler, DefaultTimeout, DefaultTickInterval);
+  }
+
+  public CorrelationRegistry(final Id localNodeId, final Scheduler scheduler, final long timeout, final long tickInterval) {
+    this(localNodeId, scheduler, timeout, tickInterval, DefaultCapacity);
+  }
+
+  @SuppressWarnings("unchecked")
+  public CorrelationRegistry(final Id localNodeId, final Scheduler scheduler, final long timeout, final long tickInterval, final int capacity) {
+    if (tickInterval <= 0 || timeout < tickInterval) {
+      throw new IllegalArgumentException("The timeout must be at least one tickInterval, which must be greater than zero.");
+    }
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("The capacity must be a power of two.");
+    }
+    this.origin = CorrelationId.originOf(localNodeId.value(), System.currentTimeMillis());
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+    this.ticksPerTimeout = (int) ((timeout + tickInterval - 1) / tickInterval);
+    this.wheel = new Set[ticksPerTimeout + 1];
+    for (int slot = 0; slot < wheel.length; ++slot) {
+      wheel[slot] = ConcurrentHashMap.newKeySet();
+    }
+    this.ticking = scheduler.schedule(this, null, tickInterval, tickInterval);
+  }
+
+  /**
+   * Registers the {@code returns} of a remote actor call, answering the
+   * {@code CorrelationId} that its {@code Answer} must carry.
+   * @param returns the {@code Returns<?>} to complete with the answer
+   * @return CorrelationId
+   */
+  public CorrelationId correlate(final Returns<?> returns) {
+    final Correlation correlation = new Correlation(sequence.incrementAndGet(), returns, (cursor + ticksPerTimeout) % wheel.length);
+    if (!slots.compareAndSet(slotOf(correlation.sequence), null, correlation)) {
+      overflow.put(correlation.sequence, correlation);
+    }
+    inFlight.incrementAndGet();
+    wheel[correlation.bucket].add(correlation);
+    return new CorrelationId(origin, correlation.sequence);
+  }
+
+  /**
+   * Answers and removes the {@code Returns} correlated by {@code correlationId},
+   * or {@code null} if it already expired or was not registered by this node.
+   * @param correlationId the CorrelationId of the answer
+   * @return {@code Returns<?>}
+   */
+  public Returns<?> remove(final CorrelationId correlationId) {
+    final Correlation correlation = correlationId.origin == origin ? remove(correlationId.sequence) : null;
+    if (correlation == null) {
+      late.incrementAndGet();
+      return null;
+    }
+    wheel[correlation.bucket].remove(correlation);
+    inFlight.decrementAndGet();
+    return correlation.returns;
+  }
+
+  public long inFlight() {
+    return inFlight.get();
+  }
+
+  public long expired() {
+    return expired.get();
+  }
+
+  public long late() {
+    return late.get();
+  }
+
+  /**
+   * Answers the count of the entries in the wheel, which are the calls in
+   * flight, apart from those being answered or expired.
+   */
+  int scheduled() {
+    int scheduled = 0;
+    for (final Set<Correlation> bucket : wheel) {
+      scheduled += bucket.size();
+    }
+    return scheduled;
+  }
+
+  public void close() {
+    ticking.cancel();
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    final int next = (cursor + 1) % wheel.length;
+    cursor = next;
+    final Set<Correlation> bucket = wheel[next];
+    for (final Correlation correlation : bucket) {
+      if (bucket.remove(correlation) && remove(correlation)) {
+        inFlight.decrementAndGet();
+        expired.incrementAndGet();
+        failed(correlation.returns, new TimeoutException("Remote actor call timed out: " + new CorrelationId(origin, correlation.sequence)));
+      }
+    }
+  }
+
+  private int slotOf(final long sequence) {
+    return (int) (sequence & mask);
+  }
+
+  private Correlation remove(final long sequence) {
+    final int slot = slotOf(sequence);
+    final Correlation correlation = slots.get(slot);
+    if (correlation != null && correlation.sequence == sequence && slots.compareAndSet(slot, correlation, null)) {
+      return correlation;
+    }
+    return overflow.remove(sequence);
+  }
+
+  private boolean remove(final Correlation correlation) {
+    return slots.compareAndSet(slotOf(correlation.sequence), correlation, null)
+        || overflow.remove(correlation.sequence, correlation);
+  }
+
+  /**
+   * Fails the {@code returns} with the {@code timeout}, or cancels it if it is
+   * a {@code Future} that is unable to fail.
+   */
+  private static void failed(final Returns<?> returns, final TimeoutException timeout) {
+    if (returns.isCompletes()) {
+      returns.asCompletes().failed(new RuntimeException("Remote actor call failed", timeout));
+    } else if (returns.isCompletableFuture()) {
+      returns.asCompletableFuture().completeExceptionally(timeout);
+    } else if (returns.isFuture()) {
+      final Future<?> future = returns.asFuture();
+      if (future instanceof CompletableFuture) {
+        ((CompletableFuture<?>) future).completeExceptionally(timeout);
+      } else {
+        future.cancel(false);
+      }
+    }
+  }
+
+  private static final class Correlation {
+    final long sequence;
+    final Returns<?> returns;
+    final int bucket;
+
+    Correlation(final long sequence, final Returns<?> returns, final int bucket) {
+      this.sequence = sequence;
+      this.returns = returns;
+      this.bucket = bucket;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Credit-based flow control of the {@code Deliver} messages between each pair
+ * of nodes. A sender starts with {@code window} credits per recipient node and
+ * spends one per message. The recipient grants them back in chunks of half the
+ * window as its actors finish running the messages. Messages sent without
+ * credit are held, up to {@code maxBuffered} per recipient, and shed beyond
+ * that, so that a slow node cannot grow the memory of its senders without bound.
+ * <p>
+ * Messages are sent outside of the lock of their window, still in the order
+ * they were given credit. A window that holds messages but was granted nothing
+ * for {@code resyncTimeout} milliseconds, such as after a lost {@code Credit},
+ * is restored to full by {@code resync()}.
+ * <p>
+ * Shed messages that expect an answer fail by the answer timeout. All nodes of
+ * a grid must use the same {@code window}.
+ */
+final class CreditFlow {
+  private static final Logger logger = LoggerFactory.getLogger(CreditFlow.class);
+
+  private final Map<Id, Window> windows = new ConcurrentHashMap<>();
+  private final BiConsumer<Id, Message> sender;
+  private final BiConsumer<Id, Integer> granter;
+  private final int window;
+  private final int grant;
+  private final int maxBuffered;
+  private final long resyncTimeout;
+  private final LongSupplier clock;
+
+  CreditFlow(final BiConsumer<Id, Message> sender, final BiConsumer<Id, Integer> granter, final int window, final int maxBuffered, final long resyncTimeout) {
+    this(sender, granter, window, maxBuffered, resyncTimeout, System::currentTimeMillis);
+  }
+
+  CreditFlow(final BiConsumer<Id, Message> sender, final BiConsumer<Id, Integer> granter, final int window, final int maxBuffered, final long resyncTimeout, final LongSupplier clock) {
+    this.sender = sender;
+    this.granter = granter;
+    this.window = window;
+    this.grant = Math.max(1, window / 2);
+    this.maxBuffered = maxBuffered;
+    this.resyncTimeout = resyncTimeout;
+    this.clock = clock;
+  }
+
+  /**
+   * Sends the {@code message} to the {@code recipient} if there is credit for it,
+   * or holds or sheds it otherwise.
+   */
+  void send(final Id recipient, final Message message) {
+    final Window recipientWindow = window(recipient);
+    synchronized (recipientWindow) {
+      if (recipientWindow.buffered.isEmpty() && recipientWindow.credits > 0) {
+        --recipientWindow.credits;
+        recipientWindow.ready.add(message);
+      } else if (recipientWindow.buffered.size() < maxBuffered) {
+        if (recipientWindow.buffered.isEmpty()) {
+          recipientWindow.progressed = clock.getAsLong();
+        }
+        recipientWindow.buffered.add(message);
+      } else {
+        if (recipientWindow.shed++ == recipientWindow.shedLogged) {
+          logger.warn("Shedding messages to {} which granted no credit, {} shed so far", recipient, recipientWindow.shed);
+          recipientWindow.shedLogged = recipientWindow.shed * 2;
+        }
+      }
+    }
+    release(recipient, recipientWindow);
+  }
+
+  /**
+   * Adds the {@code credits} granted by the {@code recipient}, and sends as many
+   * of the messages held for it.
+   */
+  void credited(final Id recipient, final int credits) {
+    final Window recipientWindow = window(recipient);
+    synchronized (recipientWindow) {
+      recipientWindow.credits += credits;
+      recipientWindow.progressed = clock.getAsLong();
+      admit(recipientWindow);
+    }
+    release(recipient, recipientWindow);
+  }
+
+  /**
+   * Accounts a message that the {@code sender} spent a credit on, and grants
+   * the sender its credits back once they add up to a chunk.
+   */
+  void consumed(final Id sender) {
+    final Window senderWindow = window(sender);
+    final boolean granted;
+    synchronized (senderWindow) {
+      granted = ++senderWindow.consumed >= grant;
+      if (granted) {
+        senderWindow.consumed = 0;
+      }
+    }
+    if (granted) {
+      granter.accept(sender, grant);
+    }
+  }
+
+  /**
+   * Restores the full window of the {@code node}, which joined or left the
+   * grid, so that credits lost with it do not stall its senders. Held messages
+   * are sent to a joined node, and shed for a node that left.
+   */
+  void reset(final Id node, final boolean joined) {
+    final Window nodeWindow = window(node);
+    synchronized (nodeWindow) {
+      nodeWindow.credits = window;
+      nodeWindow.consumed = 0;
+      nodeWindow.progressed = clock.getAsLong();
+      if (!joined) {
+        nodeWindow.shed += nodeWindow.buffered.size();
+        nodeWindow.buffered.clear();
+      }
+      admit(nodeWindow);
+    }
+    release(node, nodeWindow);
+  }
+
+  /**
+   * Restores the full window of every node that holds messages but granted no
+   * credit for {@code resyncTimeout} milliseconds, of which the grants are
+   * taken as lost.
+   */
+  void resync() {
+    final long now = clock.getAsLong();
+    windows.forEach((node, nodeWindow) -> {
+      boolean resynced = false;
+      synchronized (nodeWindow) {
+        if (!nodeWindow.buffered.isEmpty() && now - nodeWindow.progressed >= resyncTimeout) {
+          logger.warn("Restoring the credits of {} which granted none for {} ms, {} messages held",
+              node, now - nodeWindow.progressed, nodeWindow.buffered.size());
+          nodeWindow.credits = window;
+          nodeWindow.progressed = now;
+          admit(nodeWindow);
+          resynced = true;
+        }
+      }
+      if (resynced) {
+        release(node, nodeWindow);
+      }
+    });
+  }
+
+  Map<Id, CreditMetrics> metrics() {
+    final Map<Id, CreditMetrics> metrics = new HashMap<>(windows.size());
+    windows.forEach((node, nodeWindow) -> {
+      synchronized (nodeWindow) {
+        metrics.put(node, new CreditMetrics(nodeWindow.credits, nodeWindow.buffered.size(), nodeWindow.shed));
+      }
+    });
+    return Collections.unmodifiableMap(metrics);
+  }
+
+  /**
+   * Moves as many held messages as there are credits to the ready messages,
+   * while holding the lock of the {@code nodeWindow}.
+   */
+  private void admit(final Window nodeWindow) {
+    while (nodeWindow.credits > 0 && !nodeWindow.buffered.isEmpty()) {
+      --nodeWindow.credits;
+      nodeWindow.ready.add(nodeWindow.buffered.poll());
+    }
+  }
+
+  /**
+   * Sends the ready messages of the {@code nodeWindow}, on a single thread at a
+   * time so that they keep their order, without holding its lock.
+   */
+  private void release(final Id node, final Window nodeWindow) {
+    while (!nodeWindow.ready.isEmpty() && nodeWindow.releasing.compareAndSet(false, true)) {
+      try {
+        Message message;
+        while ((message = nodeWindow.ready.poll()) != null) {
+          sender.accept(node, message);
+        }
+      } finally {
+        nodeWindow.releasing.set(false);
+      }
+    }
+  }
+
+  private Window window(final Id node) {
+    return windows.computeIfAbsent(node, ignored -> new Window(window, clock.getAsLong()));
+  }
+
+  private static final class Window {
+    final Queue<Message> buffered = new ArrayDeque<>();
+    final Queue<Message> ready = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean releasing = new AtomicBoolean();
+    int credits;
+    int consumed;
+    long progressed;
+    long shed;
+    long shedLogged;
+
+    Window(final int credits, final long progressed) {
+      this.credits = credits;
+      this.progressed = progressed;
+    }
+  }
+}
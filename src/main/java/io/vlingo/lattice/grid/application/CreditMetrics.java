@@ -0,0 +1,53 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+/**
+ * The credit state of this node towards another node of the grid at a moment.
+ */
+public final class CreditMetrics {
+  private final int credits;
+  private final int buffered;
+  private final long shed;
+
+  CreditMetrics(final int credits, final int buffered, final long shed) {
+    this.credits = credits;
+    this.buffered = buffered;
+    this.shed = shed;
+  }
+
+  /**
+   * Answers the number of messages this node may still send to the other node.
+   * @return int
+   */
+  public int credits() {
+    return credits;
+  }
+
+  /**
+   * Answers the number of messages held until the other node grants credits.
+   * @return int
+   */
+  public int buffered() {
+    return buffered;
+  }
+
+  /**
+   * Answers the number of messages dropped since this node first sent to the
+   * other node, because too many were held.
+   * @return long
+   */
+  public long shed() {
+    return shed;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CreditMetrics(credits='%d', buffered='%d', shed='%d')", credits, buffered, shed);
+  }
+}
@@ -0,0 +1,64 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.vlingo.common.SerializableConsumer;
+
+/**
+ * The consumer of a received {@code Deliver} that its sender spent a credit
+ * on, which grants the credit back once the actor finished running it, or
+ * once the message leaves this node again, such as with a relocation of the
+ * actor, so that a node only grants credit for the messages it worked off.
+ */
+final class CreditingConsumer<T> implements SerializableConsumer<T> {
+  private static final long serialVersionUID = 2374465083105873934L;
+
+  final SerializableConsumer<T> consumer;
+  private final transient AtomicReference<Runnable> consumed;
+
+  CreditingConsumer(final SerializableConsumer<T> consumer, final Runnable consumed) {
+    this.consumer = consumer;
+    this.consumed = new AtomicReference<>(consumed);
+  }
+
+  /**
+   * Answers the {@code consumer} to send to another node, of which the credit
+   * is granted back, if it is a CreditingConsumer, or the {@code consumer}
+   * otherwise.
+   */
+  static <T> SerializableConsumer<T> released(final SerializableConsumer<T> consumer) {
+    if (consumer instanceof CreditingConsumer) {
+      final CreditingConsumer<T> crediting = (CreditingConsumer<T>) consumer;
+      crediting.release();
+      return crediting.consumer;
+    }
+    return consumer;
+  }
+
+  @Override
+  public void accept(final T actor) {
+    try {
+      consumer.accept(actor);
+    } finally {
+      release();
+    }
+  }
+
+  private void release() {
+    final Runnable release = consumed == null ? null : consumed.getAndSet(null);
+    if (release != null) {
+      release.run();
+    }
+  }
+
+  private Object writeReplace() {
+    return released(this);
+  }
+}
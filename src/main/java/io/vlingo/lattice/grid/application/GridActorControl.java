@@ -8,6 +8,7 @@
 package io.vlingo.lattice.grid.application;
 
 import java.util.List;
+import java.util.Map;
 
 import io.vlingo.actors.Address;
 import io.vlingo.actors.Definition;
@@ -19,11 +20,11 @@ import io.vlingo.wire.node.Id;
 
 public interface GridActorControl {
 
-  <T> void start(Id recipient,
-                 Id sender,
-                 Class<T> protocol,
-                 Address address,
-                 Definition.SerializationProxy definitionProxy);
+  void start(Id recipient,
+             Id sender,
+             Class<?>[] protocols,
+             Address address,
+             Definition.SerializationProxy definitionProxy);
 
   <T> void deliver(Id recipient,
                    Id sender,
@@ -47,10 +48,46 @@ public interface GridActorControl {
                 Object snapshot,
                 List<? extends io.vlingo.actors.Message> pending);
 
+  void leave(Id receiver, Id sender);
+
+  void hint(Id receiver, Id sender, Map<Id, Integer> nodes);
+
+  void credit(Id receiver, Id sender, int credits);
+
+  void replicate(Id receiver,
+                 Id sender,
+                 Definition.SerializationProxy definitionProxy,
+                 Address address,
+                 Object snapshot);
+
 
   interface Inbound extends GridActorControl {
   }
 
   interface Outbound extends GridActorControl {
+    /**
+     * Forwards the {@code message}, which was {@code encoded} as received.
+     * Implementations should override this to send those bytes as they are.
+     */
+    default void forward(Id receiver, Id sender, Message message, byte[] encoded) {
+      forward(receiver, sender, message);
+    }
+
+    /**
+     * Accounts a {@code Deliver} received from the {@code sender}, which spent
+     * a credit on it and which this node forwarded. Implementations with flow
+     * control override this to grant the credits back.
+     */
+    default void consumed(Id sender) {
+    }
+
+    /**
+     * Answers the consumer of a {@code Deliver} received from the {@code sender},
+     * which spent a credit on it. Implementations with flow control override
+     * this to grant the credit back once the consumer ran.
+     */
+    default <T> SerializableConsumer<T> consuming(Id sender, SerializableConsumer<T> consumer) {
+      return consumer;
+    }
   }
 }
@@ -7,24 +7,31 @@
 
 package io.vlingo.lattice.grid.application;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import io.vlingo.actors.Address;
 import io.vlingo.actors.LocalMessage;
+import io.vlingo.actors.Logger;
 import io.vlingo.actors.Returns;
 import io.vlingo.common.Completes;
 import io.vlingo.common.Scheduler;
+import io.vlingo.lattice.grid.GridTrace;
 import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.Credit;
 import io.vlingo.lattice.grid.application.message.Decoder;
 import io.vlingo.lattice.grid.application.message.Deliver;
+import io.vlingo.lattice.grid.application.message.Leave;
 import io.vlingo.lattice.grid.application.message.Message;
 import io.vlingo.lattice.grid.application.message.Relocate;
+import io.vlingo.lattice.grid.application.message.Replicate;
+import io.vlingo.lattice.grid.application.message.RingHint;
 import io.vlingo.lattice.grid.application.message.Start;
 import io.vlingo.lattice.grid.application.message.Visitor;
 import io.vlingo.lattice.grid.application.message.serialization.JavaObjectDecoder;
@@ -34,14 +41,17 @@ import io.vlingo.wire.node.Id;
 
 public final class GridApplicationMessageHandler implements ApplicationMessageHandler {
 
-  private static final Logger logger = LoggerFactory.getLogger(GridApplicationMessageHandler.class);
-
   private final Id localNode;
   private final HashRing<Id> hashRing;
   private final GridActorControl.Inbound inbound;
   private final GridActorControl.Outbound outbound;
   private final Decoder decoder;
-  private final Visitor visitor;
+  private final RingMembership membership;
+  private InboundDecoding decoding;
+  private GridTrace trace = GridTrace.of(GridApplicationMessageHandler.class);
+
+  // the ring version at which each sender was last hinted, so that it is hinted once per version
+  private final Map<Id, Long> hinted = new ConcurrentHashMap<>();
 
   private final Scheduler scheduler = new Scheduler(); // TODO inject?
 
@@ -57,28 +67,118 @@ public final class GridApplicationMessageHandler implements ApplicationMessageHa
       final GridActorControl.Inbound inbound,
       final GridActorControl.Outbound outbound,
       final Decoder decoder) {
+    this(localNode, hashRing, inbound, outbound, decoder, null);
+  }
+
+  public GridApplicationMessageHandler(
+      final Id localNode, final HashRing<Id> hashRing,
+      final GridActorControl.Inbound inbound,
+      final GridActorControl.Outbound outbound,
+      final Decoder decoder,
+      final RingMembership membership) {
     this.localNode = localNode;
     this.hashRing = hashRing;
     this.inbound = inbound;
     this.outbound = outbound;
     this.decoder = decoder;
+    this.membership = membership;
+  }
 
-    this.visitor = new ControlMessageVisitor();
+  /**
+   * Decodes the received frames on {@code workers} threads rather than on the
+   * thread that receives them, which only copies them. Frames are still
+   * dispatched in the order they were received.
+   *
+   * @param workers the int number of decoding threads
+   * @param maxPending the int maximum number of frames waiting to be decoded
+   * @param logger the Logger of the frames that fail to decode
+   */
+  public void useDecodingWorkers(int workers, int maxPending, Logger logger) {
+    this.decoding = new InboundDecoding(decoder,
+        frame -> dispatch(frame.sender, frame.ringVersion, frame.encoded, frame.message),
+        workers, maxPending, logger);
+  }
+
+  /**
+   * Answers the count of the frames that the decoding workers failed to
+   * decode, or 0 if there are none.
+   * @return long
+   */
+  public long failedDecodes() {
+    return decoding == null ? 0 : decoding.failedDecodes();
+  }
+
+  /**
+   * Samples my traces by the {@code sampling} of my grid, rather than
+   * tracing all messages.
+   *
+   * @param sampling the GridTrace.Sampling of my grid
+   */
+  public void useTraceSampling(GridTrace.Sampling sampling) {
+    this.trace = GridTrace.of(GridApplicationMessageHandler.class, sampling);
+  }
+
+  /**
+   * Stops the decoding threads, if any.
+   */
+  public void close() {
+    if (decoding != null) {
+      decoding.close();
+    }
   }
 
   @Override
   public void handle(RawMessage raw) {
     try {
-      Message message = decoder.decode(raw.asBinaryMessage());
-      Id sender = Id.of(raw.header().nodeId());
-      logger.debug("Received message {} from {}", message, sender);
-      message.accept(localNode, sender, visitor);
+      final byte[] body = raw.asBinaryMessage();
+      final Id sender = Id.of(raw.header().nodeId());
+      final long ringVersion;
+      final byte[] encoded;
+      if (raw.header().type() == RingMembership.StampedFrame) {
+        ringVersion = ByteBuffer.wrap(body).getLong();
+        encoded = Arrays.copyOfRange(body, Long.BYTES, body.length);
+      } else {
+        ringVersion = RingMembership.NoVersion;
+        encoded = body;
+      }
+      if (decoding == null) {
+        dispatch(sender, ringVersion, encoded, decoder.decode(encoded));
+      } else {
+        decoding.decode(sender, ringVersion, encoded);
+      }
     } catch (Exception e) {
       e.printStackTrace();
     }
   }
 
+  private void dispatch(Id sender, long ringVersion, byte[] encoded, Message message) {
+    try {
+      if (trace.isTraced(message.getClass())) {
+        trace.trace("receive", "message", message, "sender", sender, "length", encoded.length);
+      }
+      message.accept(localNode, sender, new ControlMessageVisitor(sender, ringVersion, message, encoded));
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Visits a single received frame, so that a message that is forwarded
+   * as a whole reuses the bytes of the frame.
+   */
   final class ControlMessageVisitor implements Visitor {
+    private final Id frameSender;
+    private final long frameRingVersion;
+    private final Message frameMessage;
+    private final byte[] frame;
+
+    ControlMessageVisitor(Id frameSender, long frameRingVersion, Message frameMessage, byte[] frame) {
+      this.frameSender = frameSender;
+      this.frameRingVersion = frameRingVersion;
+      this.frameMessage = frameMessage;
+      this.frame = frame;
+    }
+
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void visit(Id receiver, Id sender, Answer answer) {
@@ -88,13 +188,20 @@ public final class GridApplicationMessageHandler implements ApplicationMessageHa
     @Override
     public <T> void visit(Id receiver, Id sender, Deliver<T> deliver) {
       Id recipient = receiver(receiver, deliver.address);
+      // only the frame sender spent a credit, not the original sender of a Forward
+      final boolean credited = sender.equals(frameSender) && outbound != null;
       if (recipient == receiver) {
         inbound.deliver(
             receiver, sender,
             returnsAnswer(receiver, sender, deliver),
-            deliver.protocol, deliver.address, deliver.definition, deliver.consumer, deliver.representation);
+            deliver.protocol, deliver.address, deliver.definition,
+            credited ? outbound.consuming(sender, deliver.consumer) : deliver.consumer,
+            deliver.representation);
       } else {
-        outbound.forward(recipient, sender, deliver);
+        forward(recipient, sender, deliver);
+        if (credited) {
+          outbound.consumed(sender);
+        }
       }
     }
 
@@ -102,14 +209,34 @@ public final class GridApplicationMessageHandler implements ApplicationMessageHa
     public <T> void visit(Id receiver, Id sender, Start<T> start) {
       Id recipient = receiver(receiver, start.address);
       if (recipient == receiver) {
-        inbound.start(receiver, sender, start.protocol, start.address, start.definition);
+        inbound.start(receiver, sender, start.protocols, start.address, start.definition);
       } else {
-        outbound.forward(recipient, sender, start);
+        forward(recipient, sender, start);
+      }
+    }
+
+    private void forward(Id recipient, Id sender, Message message) {
+      outbound.forward(recipient, sender, message, message == frameMessage ? frame : null);
+      hint();
+    }
+
+    /**
+     * Hints the sender of the frame with the nodes of my hash-ring, once per
+     * version of its hash-ring that differs from mine. Frames without a
+     * version, such as those of nodes that do not stamp them, are never hinted.
+     */
+    private void hint() {
+      if (membership == null || frameRingVersion == RingMembership.NoVersion || frameRingVersion == membership.ringVersion()) {
+        return;
+      }
+      final Long previous = hinted.put(frameSender, frameRingVersion);
+      if (previous == null || previous != frameRingVersion) {
+        outbound.hint(frameSender, localNode, membership.ringNodes());
       }
     }
 
     private Id receiver(Id receiver, Address address) {
-      final Id recipient = hashRing.nodeOf(address.idString());
+      final Id recipient = hashRing.nodeOf(address);
       if (recipient == null || recipient.equals(receiver)) {
         return receiver;
       }
@@ -129,10 +256,31 @@ public final class GridApplicationMessageHandler implements ApplicationMessageHa
         inbound.relocate(receiver, sender, relocate.definition,
             relocate.address, relocate.snapshot, pending);
       } else {
-        outbound.forward(recipient, sender, relocate);
+        forward(recipient, sender, relocate);
       }
     }
 
+    @Override
+    public void visit(Id receiver, Id sender, Leave leave) {
+      inbound.leave(receiver, sender);
+    }
+
+    @Override
+    public void visit(Id receiver, Id sender, RingHint hint) {
+      inbound.hint(receiver, sender, hint.nodes);
+    }
+
+    @Override
+    public void visit(Id receiver, Id sender, Credit credit) {
+      inbound.credit(receiver, sender, credit.credits);
+    }
+
+    @Override
+    public void visit(Id receiver, Id sender, Replicate replicate) {
+      // sent to the holders of the replicas, so a Replicate is never forwarded
+      inbound.replicate(receiver, sender, replicate.definition, replicate.address, replicate.snapshot);
+    }
+
     private Returns<?> returnsAnswer(Id receiver, Id sender, Deliver<?> deliver) {
       final Returns<?> returns;
       if (deliver.answerCorrelationId == null) {
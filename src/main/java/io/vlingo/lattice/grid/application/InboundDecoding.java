@@ -0,0 +1,130 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import io.vlingo.actors.Logger;
+
+import io.vlingo.lattice.grid.application.message.Decoder;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Decodes the received frames on a pool of {@code workers}, and dispatches
+ * them in the order they were received, so that the messages to an actor, and
+ * the messages that must precede others, such as a {@code Leave} before the
+ * relocations of the leaving node, keep their order. Dispatching, which only
+ * hands the messages to their mailboxes, runs on whichever worker completes the
+ * next frame in order. Once {@code maxPending} frames wait for a worker, the
+ * receiving thread decodes the next frame itself. Frames that fail to decode
+ * are logged, counted, and skipped.
+ */
+final class InboundDecoding {
+  private final Decoder decoder;
+  private final Consumer<Frame> dispatcher;
+  private final ThreadPoolExecutor workers;
+  private final Logger logger;
+  private final AtomicLong failedDecodes = new AtomicLong();
+
+  private final Map<Long, Frame> decoded = new ConcurrentHashMap<>();
+  private final AtomicBoolean dispatching = new AtomicBoolean();
+  private long received;
+  private long next;
+
+  InboundDecoding(final Decoder decoder, final Consumer<Frame> dispatcher, final int workers, final int maxPending, final Logger logger) {
+    this.decoder = decoder;
+    this.dispatcher = dispatcher;
+    this.logger = logger;
+    final AtomicInteger count = new AtomicInteger();
+    this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(maxPending),
+        runnable -> {
+          final Thread thread = new Thread(runnable, "grid-decoder-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Decodes the {@code encoded} frame of the {@code sender} asynchronously.
+   * Must be called by a single thread at a time, in the order of the frames.
+   */
+  void decode(final Id sender, final long ringVersion, final byte[] encoded) {
+    final long sequence = received++;
+    workers.execute(() -> {
+      Message message = null;
+      try {
+        message = decoder.decode(encoded);
+      } catch (Exception e) {
+        failedDecodes.incrementAndGet();
+        logger.error("GRID: Failed to decode frame of " + encoded.length + " bytes from node " + sender, e);
+      }
+      decoded.put(sequence, new Frame(sender, ringVersion, encoded, message));
+      dispatch();
+    });
+  }
+
+  /**
+   * Answers the count of the frames that failed to decode.
+   */
+  long failedDecodes() {
+    return failedDecodes.get();
+  }
+
+  void close() {
+    workers.shutdown();
+  }
+
+  /**
+   * Dispatches the decoded frames that are next in order, unless another
+   * worker already does, and checks again after it stopped, so that a frame
+   * decoded meanwhile is not left behind.
+   */
+  private void dispatch() {
+    while (dispatching.compareAndSet(false, true)) {
+      try {
+        Frame frame;
+        while ((frame = decoded.remove(next)) != null) {
+          ++next;
+          if (frame.message != null) {
+            dispatcher.accept(frame);
+          }
+        }
+      } finally {
+        dispatching.set(false);
+      }
+      if (!decoded.containsKey(next)) {
+        return;
+      }
+    }
+  }
+
+  static final class Frame {
+    final Id sender;
+    final long ringVersion;
+    final byte[] encoded;
+    final Message message;
+
+    Frame(final Id sender, final long ringVersion, final byte[] encoded, final Message message) {
+      this.sender = sender;
+      this.ringVersion = ringVersion;
+      this.encoded = encoded;
+      this.message = message;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import io.vlingo.common.Scheduled;
+import io.vlingo.common.Scheduler;
+import io.vlingo.lattice.grid.application.message.Batch;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Coalesces the messages sent to the same recipient node into a single
+ * {@code Batch}, which is sent when {@code maxMessages} are pending or
+ * {@code maxDelay} milliseconds after the first pending message, whichever
+ * comes first. Messages to the same recipient keep their order.
+ */
+final class OutboundBatcher implements Scheduled<Id> {
+  private final Map<Id, Pending> pending = new ConcurrentHashMap<>();
+  private final BiConsumer<Id, Message> sender;
+  private final Scheduler scheduler;
+  private final int maxMessages;
+  private final long maxDelay;
+
+  OutboundBatcher(final BiConsumer<Id, Message> sender, final Scheduler scheduler, final int maxMessages, final long maxDelay) {
+    this.sender = sender;
+    this.scheduler = scheduler;
+    this.maxMessages = maxMessages;
+    this.maxDelay = maxDelay;
+  }
+
+  void send(final Id recipient, final Message message) {
+    final Pending recipientPending = pending.computeIfAbsent(recipient, Pending::new);
+    synchronized (recipientPending) {
+      recipientPending.messages.add(message);
+      if (recipientPending.messages.size() >= maxMessages) {
+        flush(recipientPending);
+      } else if (!recipientPending.scheduled) {
+        recipientPending.scheduled = true;
+        scheduler.scheduleOnce(this, recipient, maxDelay, 0);
+      }
+    }
+  }
+
+  void flush() {
+    for (final Pending recipientPending : pending.values()) {
+      synchronized (recipientPending) {
+        flush(recipientPending);
+      }
+    }
+  }
+
+  void flush(final Id recipient) {
+    final Pending recipientPending = pending.get(recipient);
+    if (recipientPending != null) {
+      synchronized (recipientPending) {
+        flush(recipientPending);
+      }
+    }
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Id> scheduled, final Id recipient) {
+    final Pending recipientPending = pending.get(recipient);
+    if (recipientPending != null) {
+      synchronized (recipientPending) {
+        recipientPending.scheduled = false;
+        flush(recipientPending);
+      }
+    }
+  }
+
+  private void flush(final Pending recipientPending) {
+    final List<Message> messages = recipientPending.messages;
+    if (messages.isEmpty()) {
+      return;
+    }
+    final Message message = messages.size() == 1 ? messages.get(0) : new Batch(new ArrayList<>(messages));
+    messages.clear();
+    sender.accept(recipientPending.recipient, message);
+  }
+
+  private static final class Pending {
+    final Id recipient;
+    final List<Message> messages = new ArrayList<>();
+    boolean scheduled;
+
+    Pending(final Id recipient) {
+      this.recipient = recipient;
+    }
+  }
+}
@@ -8,24 +8,35 @@
 package io.vlingo.lattice.grid.application;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
-import java.util.function.BiConsumer;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import io.vlingo.actors.Address;
 import io.vlingo.actors.Definition;
+import io.vlingo.actors.MethodInvocation;
 import io.vlingo.actors.Returns;
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Scheduler;
 import io.vlingo.common.SerializableConsumer;
+import io.vlingo.common.pool.ElasticResourcePool;
+import io.vlingo.common.pool.ResourceFactory;
+import io.vlingo.common.pool.ResourcePool;
+import io.vlingo.lattice.grid.GridTrace;
 import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.lattice.grid.application.message.Credit;
 import io.vlingo.lattice.grid.application.message.Deliver;
 import io.vlingo.lattice.grid.application.message.Encoder;
 import io.vlingo.lattice.grid.application.message.Forward;
+import io.vlingo.lattice.grid.application.message.Leave;
 import io.vlingo.lattice.grid.application.message.Message;
 import io.vlingo.lattice.grid.application.message.Relocate;
+import io.vlingo.lattice.grid.application.message.RelocateBatch;
+import io.vlingo.lattice.grid.application.message.Replicate;
+import io.vlingo.lattice.grid.application.message.RingHint;
 import io.vlingo.lattice.grid.application.message.Start;
 import io.vlingo.lattice.grid.application.message.serialization.JavaObjectEncoder;
 import io.vlingo.wire.fdx.outbound.ApplicationOutboundStream;
@@ -34,26 +45,62 @@ import io.vlingo.wire.node.Id;
 
 public class OutboundGridActorControl implements GridActorControl.Outbound {
 
-  private static final Logger logger = LoggerFactory.getLogger(OutboundGridActorControl.class);
+
+  private static final int EncodingBufferSize = 4096;
+
+  private final ResourcePool<ByteBuffer, Void> encodingBufferPool =
+      new ElasticResourcePool<>(ElasticResourcePool.Config.of(10),
+          new ResourceFactory<ByteBuffer, Void>() {
+            @Override
+            public Class<ByteBuffer> type() {
+              return ByteBuffer.class;
+            }
+
+            @Override
+            public ByteBuffer create(Void aVoid) {
+              return ByteBuffer.allocate(EncodingBufferSize);
+            }
+
+            @Override
+            public Void defaultArguments() {
+              return null;
+            }
+
+            @Override
+            public ByteBuffer reset(ByteBuffer byteBuffer, Void aVoid) {
+              byteBuffer.clear();
+              return byteBuffer;
+            }
+
+            @Override
+            public void destroy(ByteBuffer byteBuffer) {
+            }
+          });
 
   private final Id localNodeId;
   private ApplicationOutboundStream stream;
   private final Encoder encoder;
-  private final BiConsumer<UUID, Returns<?>> correlation;
+  private final Function<Returns<?>, CorrelationId> correlation;
+  private OutboundBatcher batcher;
+  private CreditFlow creditFlow;
+  private Cancellable creditResync;
+  private RingMembership membership;
+  private GridTrace trace = GridTrace.of(OutboundGridActorControl.class);
+  private boolean methodInvocations;
 
-  public OutboundGridActorControl(Id localNodeId, BiConsumer<UUID, Returns<?>> correlation) {
+  public OutboundGridActorControl(Id localNodeId, Function<Returns<?>, CorrelationId> correlation) {
     this(localNodeId, null, new JavaObjectEncoder(), correlation);
   }
 
-  public OutboundGridActorControl(Id localNodeId, Encoder encoder, BiConsumer<UUID, Returns<?>> correlation) {
+  public OutboundGridActorControl(Id localNodeId, Encoder encoder, Function<Returns<?>, CorrelationId> correlation) {
     this(localNodeId, null, encoder, correlation);
   }
 
-  public OutboundGridActorControl(Id localNodeId, ApplicationOutboundStream stream, BiConsumer<UUID, Returns<?>> correlation) {
+  public OutboundGridActorControl(Id localNodeId, ApplicationOutboundStream stream, Function<Returns<?>, CorrelationId> correlation) {
     this(localNodeId, stream, new JavaObjectEncoder(), correlation);
   }
 
-  public OutboundGridActorControl(Id localNodeId, ApplicationOutboundStream stream, Encoder encoder, BiConsumer<UUID, Returns<?>> correlation) {
+  public OutboundGridActorControl(Id localNodeId, ApplicationOutboundStream stream, Encoder encoder, Function<Returns<?>, CorrelationId> correlation) {
     this.localNodeId = localNodeId;
     this.stream = stream;
     this.encoder = encoder;
@@ -64,23 +111,183 @@ public class OutboundGridActorControl implements GridActorControl.Outbound {
     this.stream = outbound;
   }
 
+  /**
+   * Coalesces the messages sent to the same recipient into batches of up to
+   * {@code maxMessages}, each sent at the latest {@code maxDelay} milliseconds
+   * after its first message.
+   *
+   * @param scheduler the Scheduler used to send incomplete batches
+   * @param maxMessages the int maximum number of messages per batch
+   * @param maxDelay the long maximum milliseconds a message is held back
+   */
+  public void useBatching(Scheduler scheduler, int maxMessages, long maxDelay) {
+    this.batcher = new OutboundBatcher(this::sendNow, scheduler, maxMessages, maxDelay);
+  }
+
+  /**
+   * Limits the {@code Deliver} messages in flight to each node to {@code window},
+   * which that node grants back as its actors finish running them. Messages
+   * beyond that are held, up to {@code maxBuffered} per node, and shed once more
+   * are held. The credits of a node that holds messages but granted nothing for
+   * {@code resyncTimeout} milliseconds are restored.
+   *
+   * @param scheduler the Scheduler used to restore the credits of stalled nodes
+   * @param window the int number of messages in flight per node, the same on all nodes
+   * @param maxBuffered the int maximum number of messages held per node
+   * @param resyncTimeout the long milliseconds without credit after which credits are restored
+   */
+  public void useCreditFlow(Scheduler scheduler, int window, int maxBuffered, long resyncTimeout) {
+    this.creditFlow = new CreditFlow(this::send, (sender, credits) -> credit(sender, localNodeId, credits), window, maxBuffered, resyncTimeout);
+    this.creditResync = scheduler.schedule((scheduled, data) -> creditFlow.resync(), null, resyncTimeout, resyncTimeout);
+  }
+
+  /**
+   * Stops restoring the credits of stalled nodes.
+   */
+  public void close() {
+    if (creditResync != null) {
+      creditResync.cancel();
+    }
+  }
+
+  /**
+   * Answers the credit state towards each node this node sent to, which is
+   * empty unless {@link #useCreditFlow(Scheduler, int, int, long)}.
+   *
+   * @return {@code Map<Id, CreditMetrics>}
+   */
+  public Map<Id, CreditMetrics> creditMetrics() {
+    return creditFlow == null ? Collections.emptyMap() : creditFlow.metrics();
+  }
+
+  /**
+   * Adds the {@code credits} granted by the {@code node}.
+   *
+   * @param node the Id of the node that granted the credits
+   * @param credits the int number of credits granted
+   */
+  public void credited(Id node, int credits) {
+    if (creditFlow != null) {
+      creditFlow.credited(node, credits);
+    }
+  }
+
+  @Override
+  public void consumed(Id sender) {
+    if (creditFlow != null) {
+      creditFlow.consumed(sender);
+    }
+  }
+
+  @Override
+  public <T> SerializableConsumer<T> consuming(Id sender, SerializableConsumer<T> consumer) {
+    return creditFlow == null ? consumer : new CreditingConsumer<>(consumer, () -> creditFlow.consumed(sender));
+  }
+
+  /**
+   * Restores the credits of the {@code node}, which joined or left the grid.
+   *
+   * @param node the Id of the node
+   * @param joined whether the node joined rather than left
+   */
+  public void resetCredits(Id node, boolean joined) {
+    if (creditFlow != null) {
+      creditFlow.reset(node, joined);
+    }
+  }
+
+  /**
+   * Sends the calls of the generated proxies as {@code MethodInvocation}s,
+   * rather than as the lambdas that make them.
+   */
+  public void useMethodInvocations() {
+    this.methodInvocations = true;
+  }
+
+  /**
+   * Stamps every frame with the {@code ringVersion()} of the {@code membership},
+   * so that receivers can hint this node when it routes by other nodes than they do.
+   * Nodes that do not stamp their frames are unable to decode stamped frames.
+   *
+   * @param membership the RingMembership of this node
+   */
+  public void useRingMembership(RingMembership membership) {
+    this.membership = membership;
+  }
+
+  /**
+   * Samples my traces by the {@code sampling} of my grid, rather than
+   * tracing all messages.
+   *
+   * @param sampling the GridTrace.Sampling of my grid
+   */
+  public void useTraceSampling(GridTrace.Sampling sampling) {
+    this.trace = GridTrace.of(OutboundGridActorControl.class, sampling);
+  }
+
+  /**
+   * Sends all messages held back by batching.
+   */
+  public void flush() {
+    if (batcher != null) {
+      batcher.flush();
+    }
+  }
+
   @Override
-  public <T> void start(
+  public void start(
       Id receiver,
       Id sender,
-      Class<T> protocol,
+      Class<?>[] protocols,
       Address address,
       Definition.SerializationProxy definitionProxy) {
-    send(receiver, new Start<>(protocol, address, definitionProxy));
+    send(receiver, Start.of(protocols, address, definitionProxy));
   }
 
   private void send(Id recipient, Message message) {
-    logger.debug("Sending message {} to {}", message, recipient);
-    byte[] payload = encoder.encode(message);
-    RawMessage raw = RawMessage.from(
-        localNodeId.value(), -1, payload.length);
-    raw.putRemaining(ByteBuffer.wrap(payload));
-    stream.sendTo(raw, recipient);
+    if (trace.isTraced(message.getClass())) {
+      trace.trace("send", "message", message, "recipient", recipient);
+    }
+    if (batcher == null) {
+      sendNow(recipient, message);
+    } else {
+      batcher.send(recipient, message);
+    }
+  }
+
+  private void sendNow(Id recipient, Message message) {
+    stream.sendTo(encode(message), recipient);
+  }
+
+  /**
+   * Answers a {@code RawMessage} holding the encoded {@code message}. The message
+   * is encoded once, in place, into a pooled buffer, which grows as needed and
+   * is pooled again at its grown size, and is copied once into the
+   * {@code RawMessage}, which must own its bytes because the stream sends it
+   * asynchronously.
+   */
+  private RawMessage encode(Message message) {
+    ByteBuffer buffer = encodingBufferPool.acquire();
+    try {
+      stamp(buffer);
+      buffer = encoder.encodeGrowing(message, buffer);
+      buffer.flip();
+      final RawMessage raw = RawMessage.from(localNodeId.value(), frameType(), buffer.limit());
+      raw.putRemaining(buffer);
+      return raw;
+    } finally {
+      encodingBufferPool.release(buffer);
+    }
+  }
+
+  private int frameType() {
+    return membership == null ? -1 : RingMembership.StampedFrame;
+  }
+
+  private void stamp(ByteBuffer buffer) {
+    if (membership != null) {
+      buffer.putLong(membership.ringVersion());
+    }
   }
 
   @Override
@@ -94,14 +301,17 @@ public class OutboundGridActorControl implements GridActorControl.Outbound {
       SerializableConsumer<T> consumer,
       String representation) {
     final Deliver<T> deliver;
+    final SerializableConsumer<T> sent = invocable(protocol, consumer, representation);
     if (returns == null) {
-      deliver = new Deliver<>(protocol, address, definition, consumer, representation);
+      deliver = new Deliver<>(protocol, address, definition, sent, representation);
     } else {
-      final UUID answerCorrelationId = UUID.randomUUID();
-      deliver = new Deliver<>(protocol, address, definition, consumer, answerCorrelationId, representation);
-      correlation.accept(answerCorrelationId, returns);
+      deliver = new Deliver<>(protocol, address, definition, sent, correlation.apply(returns), representation);
+    }
+    if (creditFlow == null) {
+      send(receiver, deliver);
+    } else {
+      creditFlow.send(receiver, deliver);
     }
-    send(receiver, deliver);
   }
 
   @Override
@@ -114,11 +324,98 @@ public class OutboundGridActorControl implements GridActorControl.Outbound {
     send(receiver, new Forward(sender, message));
   }
 
+  /**
+   * Forwards the {@code message} as it was {@code encoded} when received, if the
+   * encoder supports it, rather than encoding it again.
+   *
+   * @param receiver the Id of the node that owns the recipient of the message
+   * @param sender the Id of the node that sent the message
+   * @param message the Message to forward
+   * @param encoded the bytes of the message as received
+   */
+  @Override
+  public void forward(Id receiver, Id sender, Message message, byte[] encoded) {
+    send(receiver, new Forward(sender, message, encoded));
+  }
+
+  @Override
+  public void hint(Id receiver, Id sender, Map<Id, Integer> nodes) {
+    send(receiver, new RingHint(nodes));
+  }
+
+  @Override
+  public void credit(Id receiver, Id sender, int credits) {
+    send(receiver, new Credit(credits));
+  }
+
   @Override
   public void relocate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot, List<? extends io.vlingo.actors.Message> pending) {
+    send(receiver, relocation(definition, address, snapshot, pending));
+  }
+
+  /**
+   * Sends the {@code relocations} to the same {@code receiver} as a single
+   * {@code RelocateBatch}, which shares their definitions and the encoding of
+   * their snapshots. As they are a batch already, they are sent at once after
+   * the messages batched for the {@code receiver} before them.
+   *
+   * @param receiver the Id of the node the actors are relocated to
+   * @param sender the Id of this node
+   * @param relocations the relocations, as answered by {@link #relocation}
+   * @return long the number of bytes sent
+   */
+  public long relocate(Id receiver, Id sender, List<Relocate> relocations) {
+    if (relocations.isEmpty()) {
+      return 0;
+    }
+    final Message message = relocations.size() == 1 ? relocations.get(0) : new RelocateBatch(relocations);
+    if (trace.isTraced(message.getClass())) {
+      trace.trace("send", "message", message, "recipient", receiver);
+    }
+    if (batcher != null) {
+      batcher.flush(receiver);
+    }
+    final RawMessage raw = encode(message);
+    stream.sendTo(raw, receiver);
+    return raw.totalLength();
+  }
+
+  /**
+   * Answers the {@code Relocate} of the actor at {@code address}, of which the
+   * {@code pending} messages that expect an answer are correlated.
+   *
+   * @param definition the Definition.SerializationProxy of the actor
+   * @param address the Address of the actor
+   * @param snapshot the Object relocation snapshot of the actor
+   * @param pending the messages pending in the mailbox of the actor
+   * @return Relocate
+   */
+  public Relocate relocation(Definition.SerializationProxy definition, Address address, Object snapshot, List<? extends io.vlingo.actors.Message> pending) {
     List<Deliver<?>> messages = pending.stream()
         .map(Deliver.from(correlation))
+        .map(this::invocable)
         .collect(Collectors.toList());
-    send(receiver, new Relocate(address, definition, snapshot, messages));
+    return new Relocate(address, definition, snapshot, messages);
+  }
+
+  private <T> SerializableConsumer<T> invocable(Class<?> protocol, SerializableConsumer<T> consumer, String representation) {
+    final SerializableConsumer<T> released = CreditingConsumer.released(consumer);
+    return methodInvocations ? MethodInvocation.of(protocol, released, representation) : released;
+  }
+
+  private <T> Deliver<T> invocable(Deliver<T> deliver) {
+    final SerializableConsumer<T> consumer = invocable(deliver.protocol, deliver.consumer, deliver.representation);
+    return consumer == deliver.consumer ? deliver : new Deliver<>(deliver.protocol, deliver.address,
+        deliver.definition, consumer, deliver.answerCorrelationId, deliver.representation);
+  }
+
+  @Override
+  public void leave(Id receiver, Id sender) {
+    send(receiver, new Leave());
+  }
+
+  @Override
+  public void replicate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot) {
+    send(receiver, new Replicate(address, definition, snapshot));
   }
 }
@@ -0,0 +1,48 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application;
+
+import java.util.Map;
+
+import io.vlingo.wire.node.Id;
+
+/**
+ * The nodes on the hash-ring of this node, which every outbound frame is
+ * stamped with the version of, so that the receiver of a frame that it has to
+ * forward learns whether the sender routes by other nodes than it does.
+ * <p>
+ * A stamped frame has the {@code RawMessage} header type {@code StampedFrame}
+ * and a body that starts with the {@code long} version, followed by the
+ * encoded message. Frames of any other type carry no version.
+ */
+public interface RingMembership {
+  /**
+   * The header type of frames whose body starts with a ring version.
+   */
+  short StampedFrame = 1;
+
+  /**
+   * The version of frames that carry none, which is never answered by
+   * {@code ringVersion()} and never hinted.
+   */
+  long NoVersion = 0;
+
+  /**
+   * Answers a digest of the nodes and weights answered by {@code ringNodes()},
+   * which is equal on all nodes that have the same nodes on their hash-ring,
+   * and is never {@code NoVersion}.
+   * @return long
+   */
+  long ringVersion();
+
+  /**
+   * Answers the weight of every node on the hash-ring of this node.
+   * @return {@code Map<Id, Integer>}
+   */
+  Map<Id, Integer> ringNodes();
+}
@@ -3,24 +3,23 @@ package io.vlingo.lattice.grid.application.message;
 import io.vlingo.wire.node.Id;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 public class Answer<T> implements Serializable, Message {
   private static final long serialVersionUID = -2796142731077588067L;
 
-  public final UUID correlationId;
+  public final CorrelationId correlationId;
   public final T result;
   public final Throwable error;
 
-  public Answer(final UUID correlationId, final T result) {
+  public Answer(final CorrelationId correlationId, final T result) {
     this(correlationId, result, null);
   }
 
-  public Answer(final UUID correlationId, final Throwable error) {
+  public Answer(final CorrelationId correlationId, final Throwable error) {
     this(correlationId, null, error);
   }
 
-  private Answer(final UUID correlationId, final T result, final Throwable error) {
+  private Answer(final CorrelationId correlationId, final T result, final Throwable error) {
     this.correlationId = correlationId;
     this.result = result;
     this.error = error;
@@ -0,0 +1,54 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import java.io.Serializable;
+
+/**
+ * Identifies the {@code Answer} to a remote actor call. The {@code origin}
+ * packs the id of the node that made the call with the incarnation of that
+ * node, and the {@code sequence} is unique and monotonic within the origin.
+ */
+public final class CorrelationId implements Serializable {
+  private static final long serialVersionUID = 3586237418129356744L;
+
+  public final long origin;
+  public final long sequence;
+
+  public static long originOf(final short nodeId, final long incarnation) {
+    return ((long) nodeId << 48) | (incarnation & 0xFFFF_FFFF_FFFFL);
+  }
+
+  public CorrelationId(final long origin, final long sequence) {
+    this.origin = origin;
+    this.sequence = sequence;
+  }
+
+  public short nodeId() {
+    return (short) (origin >>> 48);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (other == null || other.getClass() != CorrelationId.class) {
+      return false;
+    }
+    final CorrelationId otherId = (CorrelationId) other;
+    return origin == otherId.origin && sequence == otherId.sequence;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(origin) * 31 + Long.hashCode(sequence);
+  }
+
+  @Override
+  public String toString() {
+    return "CorrelationId[node=" + nodeId() + " origin=" + Long.toHexString(origin) + " sequence=" + sequence + "]";
+  }
+}
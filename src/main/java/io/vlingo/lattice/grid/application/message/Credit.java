@@ -0,0 +1,34 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import io.vlingo.wire.node.Id;
+
+/**
+ * Grants the recipient {@code credits} to send that many more {@code Deliver}
+ * messages to the sender, which received as many since its last grant.
+ */
+public class Credit implements Message {
+  private static final long serialVersionUID = 2318690127542706511L;
+
+  public final int credits;
+
+  public Credit(int credits) {
+    this.credits = credits;
+  }
+
+  @Override
+  public void accept(Id receiver, Id sender, Visitor visitor) {
+    visitor.visit(receiver, sender, this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Credit(credits='%d')", credits);
+  }
+}
@@ -2,8 +2,6 @@ package io.vlingo.lattice.grid.application.message;
 
 import java.io.Serializable;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import io.vlingo.actors.Address;
@@ -17,16 +15,12 @@ public class Deliver<T> implements Serializable, Message {
   private static final long serialVersionUID = 591702431591762704L;
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
-  public static Function<io.vlingo.actors.Message, Deliver<?>> from(BiConsumer<UUID, Returns<?>> correlation) {
+  public static Function<io.vlingo.actors.Message, Deliver<?>> from(Function<Returns<?>, CorrelationId> correlation) {
     return (message) -> {
       final LocalMessage<?> __message = (LocalMessage<?>) message;
       final Optional<Returns<?>> returns = Optional.ofNullable(__message.returns());
 
-      final UUID answerCorrelationId = returns.map(_return -> {
-        final UUID correlationId = UUID.randomUUID();
-        correlation.accept(correlationId, _return);
-        return correlationId;
-      }).orElse(null);
+      final CorrelationId answerCorrelationId = returns.map(correlation).orElse(null);
 
       return new Deliver(
           __message.protocol(),
@@ -42,7 +36,7 @@ public class Deliver<T> implements Serializable, Message {
   public final Address address;
   public final Definition.SerializationProxy definition;
   public final SerializableConsumer<T> consumer;
-  public final UUID answerCorrelationId;
+  public final CorrelationId answerCorrelationId;
   public final String representation;
 
   public Deliver(final Class<T> protocol,
@@ -57,7 +51,7 @@ public class Deliver<T> implements Serializable, Message {
                  final Address address,
                  final Definition.SerializationProxy definition,
                  final SerializableConsumer<T> consumer,
-                 final UUID answerCorrelationId,
+                 final CorrelationId answerCorrelationId,
                  final String representation) {
     this.protocol = protocol;
     this.address = address;
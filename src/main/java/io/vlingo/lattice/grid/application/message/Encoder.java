@@ -1,5 +1,37 @@
 package io.vlingo.lattice.grid.application.message;
 
+import java.nio.ByteBuffer;
+
 public interface Encoder {
   byte[] encode(Message message);
+
+  /**
+   * Encodes the {@code message} into the {@code buffer} at its current position.
+   * Implementations that are able to should override this to write in place,
+   * rather than through an intermediate {@code byte[]}.
+   * @param message the Message to encode
+   * @param buffer the ByteBuffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer is too small for the message
+   */
+  default void encode(Message message, ByteBuffer buffer) {
+    buffer.put(encode(message));
+  }
+
+  /**
+   * Encodes the {@code message} into the {@code buffer} at its current position,
+   * and answers the buffer written to, which is a larger copy of {@code buffer}
+   * holding the bytes written before if the message did not fit.
+   * @param message the Message to encode
+   * @param buffer the ByteBuffer to write to
+   * @return ByteBuffer
+   */
+  default ByteBuffer encodeGrowing(Message message, ByteBuffer buffer) {
+    final byte[] encoded = encode(message);
+    if (buffer.remaining() >= encoded.length) {
+      return buffer.put(encoded);
+    }
+    final ByteBuffer grown = ByteBuffer.allocate(buffer.position() + encoded.length);
+    buffer.flip();
+    return grown.put(buffer).put(encoded);
+  }
 }
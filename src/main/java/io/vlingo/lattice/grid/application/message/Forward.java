@@ -7,10 +7,17 @@ public class Forward implements Message {
 
   public final Id originalSender;
   public final Message message;
+  // the message as received, if in the frame format of the encoder
+  public final transient byte[] encoded;
 
   public Forward(Id originalSender, Message message) {
+    this(originalSender, message, null);
+  }
+
+  public Forward(Id originalSender, Message message, byte[] encoded) {
     this.originalSender = originalSender;
     this.message = message;
+    this.encoded = encoded;
   }
 
   @Override
@@ -0,0 +1,28 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import io.vlingo.wire.node.Id;
+
+/**
+ * Tells the recipient that the sender leaves the grid, so that the recipient
+ * excludes it from its hash-ring before it accepts the actors relocated by it.
+ */
+public class Leave implements Message {
+  private static final long serialVersionUID = 4190375519286231563L;
+
+  @Override
+  public void accept(Id receiver, Id sender, Visitor visitor) {
+    visitor.visit(receiver, sender, this);
+  }
+
+  @Override
+  public String toString() {
+    return "Leave()";
+  }
+}
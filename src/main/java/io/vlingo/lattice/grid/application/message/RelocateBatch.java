@@ -0,0 +1,32 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import io.vlingo.wire.node.Id;
+
+import java.util.List;
+
+public class RelocateBatch implements Message {
+  private static final long serialVersionUID = -2207468914361251307L;
+
+  public final List<Relocate> relocates;
+
+  public RelocateBatch(List<Relocate> relocates) {
+    this.relocates = relocates;
+  }
+
+  @Override
+  public void accept(Id receiver, Id sender, Visitor visitor) {
+    visitor.visit(receiver, sender, this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("RelocateBatch(relocates='%s')", relocates);
+  }
+}
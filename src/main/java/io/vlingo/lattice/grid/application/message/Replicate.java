@@ -0,0 +1,42 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.Definition;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Carries the state of an actor from the node that owns it to another node,
+ * where it updates the replica that serves the read-only calls to the actor,
+ * or, without a {@code snapshot}, stops that replica after the actor stopped.
+ */
+public class Replicate implements Message {
+  private static final long serialVersionUID = -3015208726151304772L;
+
+  public final Address address;
+  public final Definition.SerializationProxy definition;
+  public final Object snapshot;
+
+  public Replicate(Address address, Definition.SerializationProxy definition, Object snapshot) {
+    this.address = address;
+    this.definition = definition;
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public void accept(Id receiver, Id sender, Visitor visitor) {
+    visitor.visit(receiver, sender, this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Replicate(address='%s', definitionProxy='%s', snapshot='%s')",
+        address, definition, snapshot);
+  }
+}
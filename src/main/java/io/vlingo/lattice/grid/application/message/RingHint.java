@@ -0,0 +1,38 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message;
+
+import java.util.Map;
+
+import io.vlingo.wire.node.Id;
+
+/**
+ * Tells a node that routed a message to the wrong node which nodes, of which
+ * weights, are on the hash-ring of the sender, so that it includes those of
+ * them that the cluster already reports as live rather than having its
+ * messages forwarded until the cluster tells it that they joined.
+ */
+public class RingHint implements Message {
+  private static final long serialVersionUID = -6158330795541937624L;
+
+  public final Map<Id, Integer> nodes;
+
+  public RingHint(Map<Id, Integer> nodes) {
+    this.nodes = nodes;
+  }
+
+  @Override
+  public void accept(Id receiver, Id sender, Visitor visitor) {
+    visitor.visit(receiver, sender, this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("RingHint(nodes='%s')", nodes);
+  }
+}
@@ -5,16 +5,37 @@ import io.vlingo.actors.Definition;
 import io.vlingo.wire.node.Id;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 public class Start<T> implements Serializable, Message {
   private static final long serialVersionUID = -7081324662923459283L;
 
   public final Class<T> protocol;
+  public final Class<?>[] protocols;
   public final Address address;
   public final Definition.SerializationProxy definition;
 
   public Start(Class<T> protocol, Address address, Definition.SerializationProxy definition) {
+    this(protocol, new Class<?>[] { protocol }, address, definition);
+  }
+
+  /**
+   * Answers a Start of an actor of all {@code protocols}, of which the first
+   * is its {@code protocol}.
+   * @param protocols the Class&lt;?&gt;[] protocols of the actor
+   * @param address the Address of the actor
+   * @param definition the Definition.SerializationProxy of the actor
+   * @param <T> the type of the first protocol
+   * @return {@code Start<T>}
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Start<T> of(Class<?>[] protocols, Address address, Definition.SerializationProxy definition) {
+    return new Start<>((Class<T>) protocols[0], protocols, address, definition);
+  }
+
+  private Start(Class<T> protocol, Class<?>[] protocols, Address address, Definition.SerializationProxy definition) {
     this.protocol = protocol;
+    this.protocols = protocols;
     this.address = address;
     this.definition = definition;
   }
@@ -27,7 +48,7 @@ public class Start<T> implements Serializable, Message {
   @Override
   public String toString() {
     return String.format(
-        "Start(protocol='%s', address='%s', definition='%s')",
-        protocol, address, definition);
+        "Start(protocols='%s', address='%s', definition='%s')",
+        Arrays.toString(protocols), address, definition);
   }
 }
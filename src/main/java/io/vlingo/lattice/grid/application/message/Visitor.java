@@ -7,7 +7,21 @@ public interface Visitor {
   <T> void visit(Id receiver, Id sender, Deliver<T> deliver);
   <T> void visit(Id receiver, Id sender, Start<T> start);
   void visit(Id receiver, Id sender, Relocate relocate);
+  void visit(Id receiver, Id sender, Leave leave);
+  void visit(Id receiver, Id sender, Replicate replicate);
+  void visit(Id receiver, Id sender, RingHint hint);
+  void visit(Id receiver, Id sender, Credit credit);
   default void visit(Id receiver, Id sender, Forward forward) {
     forward.message.accept(receiver, forward.originalSender, this);
   }
+  default void visit(Id receiver, Id sender, Batch batch) {
+    for (final Message message : batch.messages) {
+      message.accept(receiver, sender, this);
+    }
+  }
+  default void visit(Id receiver, Id sender, RelocateBatch batch) {
+    for (final Relocate relocate : batch.relocates) {
+      relocate.accept(receiver, sender, this);
+    }
+  }
 }
@@ -0,0 +1,233 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message.serialization;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.nustaq.serialization.FSTConfiguration;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.MethodInvocation;
+import io.vlingo.actors.GridAddressFactory;
+import io.vlingo.common.SerializableConsumer;
+import io.vlingo.common.identity.IdentityGeneratorType;
+import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.Batch;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.lattice.grid.application.message.Credit;
+import io.vlingo.lattice.grid.application.message.Decoder;
+import io.vlingo.lattice.grid.application.message.Deliver;
+import io.vlingo.lattice.grid.application.message.Forward;
+import io.vlingo.lattice.grid.application.message.Leave;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.lattice.grid.application.message.Relocate;
+import io.vlingo.lattice.grid.application.message.RelocateBatch;
+import io.vlingo.lattice.grid.application.message.Replicate;
+import io.vlingo.lattice.grid.application.message.RingHint;
+import io.vlingo.lattice.grid.application.message.Start;
+import io.vlingo.wire.node.Id;
+
+/**
+ * Decodes the fixed-layout frames written by {@link BinaryEncoder}.
+ */
+public final class BinaryDecoder implements Decoder {
+  private static final GridAddressFactory addressFactory = new GridAddressFactory(IdentityGeneratorType.RANDOM);
+
+  private final Supplier<FSTConfiguration> configurations;
+  private final SerializationRegistry registry;
+
+  public BinaryDecoder(final FSTConfiguration conf) {
+    this(conf, new SerializationRegistry());
+  }
+
+  public BinaryDecoder(final FSTConfiguration conf, final SerializationRegistry registry) {
+    this.configurations = () -> conf;
+    this.registry = registry;
+  }
+
+  /**
+   * Answers a new BinaryDecoder of the per-thread {@code configuration()} of the
+   * {@code registry}.
+   * @param registry the SerializationRegistry of the grid
+   */
+  public BinaryDecoder(final SerializationRegistry registry) {
+    this.configurations = registry::configuration;
+    this.registry = registry;
+  }
+
+  @Override
+  public Message decode(final byte[] bytes) {
+    try {
+      return new FrameReader(ByteBuffer.wrap(bytes)).message();
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("decode failed", e);
+    }
+  }
+
+  private final class FrameReader {
+    private final ByteBuffer buffer;
+    private final FSTConfiguration conf = configurations.get();
+    private final List<Definition.SerializationProxy> definitions = new ArrayList<>(1);
+
+    FrameReader(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    Message message() {
+      final byte tag = buffer.get();
+      switch (tag) {
+      case BinaryFrame.Deliver:
+        return deliver();
+      case BinaryFrame.Answer:
+        final CorrelationId correlationId = correlationId();
+        final Object result = payload();
+        final Throwable error = (Throwable) payload();
+        return error == null ? new Answer<>(correlationId, result) : new Answer<>(correlationId, error);
+      case BinaryFrame.Start:
+        final Class<?>[] protocols = new Class<?>[buffer.getShort()];
+        for (int index = 0; index < protocols.length; ++index) {
+          protocols[index] = type();
+        }
+        return Start.of(protocols, address(), definition());
+      case BinaryFrame.Relocate:
+        final Address address = address();
+        final Definition.SerializationProxy definition = definition();
+        final List<Deliver<?>> pending = pending();
+        return new Relocate(address, definition, payload(), pending);
+      case BinaryFrame.RelocateBatch:
+        final int relocations = buffer.getInt();
+        final Address[] addresses = new Address[relocations];
+        final Definition.SerializationProxy[] proxies = new Definition.SerializationProxy[relocations];
+        final List<List<Deliver<?>>> pendings = new ArrayList<>(relocations);
+        for (int index = 0; index < relocations; ++index) {
+          addresses[index] = address();
+          proxies[index] = definition();
+          pendings.add(pending());
+        }
+        final Object[] snapshots = (Object[]) payload();
+        final List<Relocate> relocates = new ArrayList<>(relocations);
+        for (int index = 0; index < relocations; ++index) {
+          relocates.add(new Relocate(addresses[index], proxies[index], snapshots[index], pendings.get(index)));
+        }
+        return new RelocateBatch(relocates);
+      case BinaryFrame.Forward:
+        final Id originalSender = Id.of(buffer.getShort());
+        return new Forward(originalSender, message());
+      case BinaryFrame.Batch:
+        final int size = buffer.getInt();
+        final List<Message> messages = new ArrayList<>(size);
+        for (int index = 0; index < size; ++index) {
+          messages.add(message());
+        }
+        return new Batch(messages);
+      case BinaryFrame.Leave:
+        return new Leave();
+      case BinaryFrame.Replicate:
+        final Address replicated = address();
+        return new Replicate(replicated, definition(), payload());
+      case BinaryFrame.RingHint:
+        final int count = buffer.getInt();
+        final Map<Id, Integer> nodes = new HashMap<>(count);
+        for (int index = 0; index < count; ++index) {
+          nodes.put(Id.of(buffer.getShort()), buffer.getInt());
+        }
+        return new RingHint(nodes);
+      case BinaryFrame.Credit:
+        return new Credit(buffer.getInt());
+      default:
+        throw new IllegalArgumentException("Unknown message tag: " + tag);
+      }
+    }
+
+    private List<Deliver<?>> pending() {
+      final int count = buffer.getInt();
+      final List<Deliver<?>> pending = new ArrayList<>(count);
+      for (int index = 0; index < count; ++index) {
+        pending.add(deliver());
+      }
+      return pending;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Deliver<?> deliver() {
+      final Class protocol = type();
+      final Address address = address();
+      final Definition.SerializationProxy definition = definition();
+      final short methodId = buffer.getShort();
+      final SerializableConsumer consumer = methodId == MethodInvocation.NoMethod
+          ? (SerializableConsumer) payload()
+          : new MethodInvocation(protocol, methodId, (Object[]) payload());
+      final CorrelationId answerCorrelationId = correlationId();
+      final String representation = string();
+      return new Deliver(protocol, address, definition, consumer, answerCorrelationId, representation);
+    }
+
+    private Address address() {
+      final UUID id = new UUID(buffer.getLong(), buffer.getLong());
+      return addressFactory.from(id, string());
+    }
+
+    private Class<?> type() {
+      final short id = buffer.getShort();
+      if (id == SerializationRegistry.NullClass) {
+        return null;
+      } else if (id == SerializationRegistry.Unregistered) {
+        return registry.classNamed(string());
+      }
+      return registry.classOf(id);
+    }
+
+    private Definition.SerializationProxy definition() {
+      final short index = buffer.getShort();
+      if (index == BinaryFrame.NullLength) {
+        return null;
+      } else if (index < definitions.size()) {
+        return definitions.get(index);
+      }
+      final Definition.SerializationProxy definition = (Definition.SerializationProxy) conf.asObject(bytes());
+      definitions.add(definition);
+      return definition;
+    }
+
+    private Object payload() {
+      final byte[] bytes = bytes();
+      return bytes == null ? null : conf.asObject(bytes);
+    }
+
+    private CorrelationId correlationId() {
+      if (buffer.get() == 0) {
+        return null;
+      }
+      return new CorrelationId(buffer.getLong(), buffer.getLong());
+    }
+
+    private String string() {
+      final byte[] bytes = bytes();
+      return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes() {
+      final int length = buffer.getInt();
+      if (length == BinaryFrame.NullLength) {
+        return null;
+      }
+      final byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,343 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message.serialization;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.nustaq.serialization.FSTConfiguration;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.MethodInvocation;
+import io.vlingo.actors.GridAddress;
+import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.Batch;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.lattice.grid.application.message.Credit;
+import io.vlingo.lattice.grid.application.message.Deliver;
+import io.vlingo.lattice.grid.application.message.Encoder;
+import io.vlingo.lattice.grid.application.message.Forward;
+import io.vlingo.lattice.grid.application.message.Leave;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.lattice.grid.application.message.Relocate;
+import io.vlingo.lattice.grid.application.message.RelocateBatch;
+import io.vlingo.lattice.grid.application.message.Replicate;
+import io.vlingo.lattice.grid.application.message.RingHint;
+import io.vlingo.lattice.grid.application.message.Start;
+
+/**
+ * Encodes grid messages into the fixed-layout frames described by {@link BinaryFrame}.
+ * Only consumer payloads, such as the {@code Deliver} consumer, {@code Answer} results
+ * and {@code Relocate} snapshots, are serialized through the {@code FSTConfiguration}.
+ */
+public final class BinaryEncoder implements Encoder {
+  private static final int InitialCapacity = 1024;
+
+  private final Supplier<FSTConfiguration> configurations;
+  private final SerializationRegistry registry;
+  private final ThreadLocal<ByteBuffer> scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocate(InitialCapacity));
+  // the definitions of actors recur in most frames, so each thread serializes them once
+  private final ThreadLocal<Map<Definition.SerializationProxy, byte[]>> definitionBytes = ThreadLocal.withInitial(WeakHashMap::new);
+
+  public BinaryEncoder(final FSTConfiguration conf) {
+    this(conf, new SerializationRegistry());
+  }
+
+  public BinaryEncoder(final FSTConfiguration conf, final SerializationRegistry registry) {
+    this.configurations = () -> conf;
+    this.registry = registry;
+  }
+
+  /**
+   * Answers a new BinaryEncoder of the per-thread {@code configuration()} of the
+   * {@code registry}.
+   * @param registry the SerializationRegistry of the grid
+   */
+  public BinaryEncoder(final SerializationRegistry registry) {
+    this.configurations = registry::configuration;
+    this.registry = registry;
+  }
+
+  /**
+   * Answers the frame of {@code message}, written once into my per-thread
+   * buffer, which grows as needed and is kept at its grown size.
+   */
+  @Override
+  public byte[] encode(final Message message) {
+    final ByteBuffer empty = scratch.get();
+    empty.clear();
+    final ByteBuffer buffer = encodeGrowing(message, empty);
+    scratch.set(buffer);
+    buffer.flip();
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Writes the frame of {@code message} once, growing the {@code buffer} as
+   * needed rather than failing.
+   */
+  @Override
+  public ByteBuffer encodeGrowing(final Message message, final ByteBuffer buffer) {
+    try {
+      final FrameWriter writer = new FrameWriter(buffer, true);
+      writer.message(message);
+      return writer.buffer;
+    } catch (RuntimeException e) {
+      throw new RuntimeException("encode failed", e);
+    }
+  }
+
+  @Override
+  public void encode(final Message message, final ByteBuffer buffer) {
+    try {
+      new FrameWriter(buffer, false).message(message);
+    } catch (BufferOverflowException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw new RuntimeException("encode failed", e);
+    }
+  }
+
+  private final class FrameWriter {
+    private final boolean growing;
+    private final FSTConfiguration conf = configurations.get();
+    private final List<byte[]> definitions = new ArrayList<>(1);
+    private final Map<Definition.SerializationProxy, Short> indexes = new IdentityHashMap<>(1);
+
+    private ByteBuffer buffer;
+
+    FrameWriter(final ByteBuffer buffer, final boolean growing) {
+      this.buffer = buffer;
+      this.growing = growing;
+    }
+
+    void message(final Message message) {
+      if (message instanceof Deliver) {
+        put(BinaryFrame.Deliver);
+        deliver((Deliver<?>) message);
+      } else if (message instanceof Answer) {
+        final Answer<?> answer = (Answer<?>) message;
+        put(BinaryFrame.Answer);
+        correlationId(answer.correlationId);
+        payload(answer.result);
+        payload(answer.error);
+      } else if (message instanceof Start) {
+        final Start<?> start = (Start<?>) message;
+        put(BinaryFrame.Start);
+        putShort((short) start.protocols.length);
+        for (final Class<?> protocol : start.protocols) {
+          type(protocol);
+        }
+        address(start.address);
+        definition(start.definition);
+      } else if (message instanceof Relocate) {
+        final Relocate relocate = (Relocate) message;
+        put(BinaryFrame.Relocate);
+        relocation(relocate);
+        payload(relocate.snapshot);
+      } else if (message instanceof RelocateBatch) {
+        final RelocateBatch batch = (RelocateBatch) message;
+        put(BinaryFrame.RelocateBatch);
+        putInt(batch.relocates.size());
+        final Object[] snapshots = new Object[batch.relocates.size()];
+        for (int index = 0; index < snapshots.length; ++index) {
+          final Relocate relocate = batch.relocates.get(index);
+          relocation(relocate);
+          snapshots[index] = relocate.snapshot;
+        }
+        payload(snapshots);
+      } else if (message instanceof Forward) {
+        final Forward forward = (Forward) message;
+        put(BinaryFrame.Forward);
+        putShort(forward.originalSender.value());
+        if (forward.encoded == null) {
+          message(forward.message);
+        } else {
+          put(forward.encoded);
+        }
+      } else if (message instanceof Batch) {
+        final Batch batch = (Batch) message;
+        put(BinaryFrame.Batch);
+        putInt(batch.messages.size());
+        for (final Message batched : batch.messages) {
+          message(batched);
+        }
+      } else if (message instanceof Leave) {
+        put(BinaryFrame.Leave);
+      } else if (message instanceof Replicate) {
+        final Replicate replicate = (Replicate) message;
+        put(BinaryFrame.Replicate);
+        address(replicate.address);
+        definition(replicate.definition);
+        payload(replicate.snapshot);
+      } else if (message instanceof RingHint) {
+        final RingHint hint = (RingHint) message;
+        put(BinaryFrame.RingHint);
+        putInt(hint.nodes.size());
+        hint.nodes.forEach((node, weight) -> {
+          putShort(node.value());
+          putInt(weight);
+        });
+      } else if (message instanceof Credit) {
+        put(BinaryFrame.Credit);
+        putInt(((Credit) message).credits);
+      } else {
+        throw new IllegalArgumentException("Unknown message type: " + message.getClass().getName());
+      }
+    }
+
+    private void relocation(final Relocate relocate) {
+      address(relocate.address);
+      definition(relocate.definition);
+      putInt(relocate.pending.size());
+      for (final Deliver<?> pending : relocate.pending) {
+        deliver(pending);
+      }
+    }
+
+    private void deliver(final Deliver<?> deliver) {
+      type(deliver.protocol);
+      address(deliver.address);
+      definition(deliver.definition);
+      if (deliver.consumer instanceof MethodInvocation) {
+        final MethodInvocation invocation = (MethodInvocation) deliver.consumer;
+        putShort(invocation.methodId);
+        payload(invocation.args);
+      } else {
+        putShort(MethodInvocation.NoMethod);
+        payload(deliver.consumer);
+      }
+      correlationId(deliver.answerCorrelationId);
+      string(deliver.representation);
+    }
+
+    private void address(final Address address) {
+      if (!(address instanceof GridAddress)) {
+        throw new IllegalArgumentException("Unsupported address type: " + address.getClass().getName());
+      }
+      final GridAddress gridAddress = (GridAddress) address;
+      final UUID id = gridAddress.idTyped();
+      putLong(id.getMostSignificantBits());
+      putLong(id.getLeastSignificantBits());
+      string(gridAddress.isNamed() ? gridAddress.name() : null);
+    }
+
+    private void type(final Class<?> type) {
+      final short id = registry.idOf(type);
+      putShort(id);
+      if (id == SerializationRegistry.Unregistered) {
+        bytes(registry.nameOf(type));
+      }
+    }
+
+    private void definition(final Definition.SerializationProxy definition) {
+      if (definition == null) {
+        putShort((short) BinaryFrame.NullLength);
+        return;
+      }
+      final Short known = indexes.get(definition);
+      if (known != null) {
+        putShort(known);
+        return;
+      }
+      final byte[] encoded = definitionBytes.get().computeIfAbsent(definition, conf::asByteArray);
+      for (int index = 0; index < definitions.size(); ++index) {
+        if (Arrays.equals(definitions.get(index), encoded)) {
+          indexes.put(definition, (short) index);
+          putShort((short) index);
+          return;
+        }
+      }
+      indexes.put(definition, (short) definitions.size());
+      putShort((short) definitions.size());
+      definitions.add(encoded);
+      bytes(encoded);
+    }
+
+    private void payload(final Object payload) {
+      bytes(payload == null ? null : conf.asByteArray(payload));
+    }
+
+    private void correlationId(final CorrelationId correlationId) {
+      if (correlationId == null) {
+        put((byte) 0);
+      } else {
+        put((byte) 1);
+        putLong(correlationId.origin);
+        putLong(correlationId.sequence);
+      }
+    }
+
+    private void string(final String value) {
+      bytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void bytes(final byte[] bytes) {
+      if (bytes == null) {
+        putInt(BinaryFrame.NullLength);
+      } else {
+        putInt(bytes.length);
+        put(bytes);
+      }
+    }
+
+    private void put(final byte value) {
+      ensure(Byte.BYTES);
+      buffer.put(value);
+    }
+
+    private void put(final byte[] value) {
+      ensure(value.length);
+      buffer.put(value);
+    }
+
+    private void putShort(final short value) {
+      ensure(Short.BYTES);
+      buffer.putShort(value);
+    }
+
+    private void putInt(final int value) {
+      ensure(Integer.BYTES);
+      buffer.putInt(value);
+    }
+
+    private void putLong(final long value) {
+      ensure(Long.BYTES);
+      buffer.putLong(value);
+    }
+
+    /**
+     * Grows my buffer, if {@code growing}, so that {@code length} more bytes
+     * fit after those already written.
+     */
+    private void ensure(final int length) {
+      if (buffer.remaining() >= length) {
+        return;
+      }
+      if (!growing) {
+        throw new BufferOverflowException();
+      }
+      final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+      buffer.flip();
+      grown.put(buffer);
+      buffer = grown;
+    }
+  }
+}
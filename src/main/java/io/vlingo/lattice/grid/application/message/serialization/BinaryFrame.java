@@ -0,0 +1,43 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message.serialization;
+
+/**
+ * Tags and sentinels of the fixed-layout frames written by {@link BinaryEncoder}
+ * and read by {@link BinaryDecoder}.
+ * <p>
+ * Every frame starts with a one byte message tag. Addresses are written as the
+ * two {@code long} halves of their {@code UUID} followed by their optional name,
+ * classes as a {@link SerializationRegistry} id or name, {@code Definition}s as
+ * an index into the definitions of the frame, {@code CorrelationId}s as a
+ * presence byte followed by their origin and sequence, and all consumer payloads
+ * as length-prefixed bytes. A {@code RelocateBatch} writes the snapshots of all
+ * its relocations as a single payload, so that their classes are described once.
+ * A {@code Forward} of a message received in this format reuses its bytes.
+ * A {@code Start} writes the count of its protocols followed by each of them.
+ * The consumer of a {@code Deliver} is preceded by the method id of its
+ * {@code MethodInvocation}, of which only the arguments are then written, or by
+ * {@code MethodInvocation.NoMethod} for any other consumer.
+ */
+final class BinaryFrame {
+  static final byte Start = 1;
+  static final byte Deliver = 2;
+  static final byte Answer = 3;
+  static final byte Forward = 4;
+  static final byte Relocate = 5;
+  static final byte Batch = 6;
+  static final byte Leave = 7;
+  static final byte RelocateBatch = 8;
+  static final byte Replicate = 9;
+  static final byte RingHint = 10;
+  static final byte Credit = 11;
+
+  static final int NullLength = -1;
+
+  private BinaryFrame() { }
+}
@@ -0,0 +1,23 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message.serialization;
+
+/**
+ * Registers the classes of a package that appear in grid messages, so that
+ * packages built on the grid need not be known to it. Implementations are
+ * found through the {@code java.util.ServiceLoader} by
+ * {@code SerializationRegistry.registerGridClasses()}, which runs them in the
+ * order of their class names after registering the classes of the grid.
+ */
+public interface SerializationRegistration {
+  /**
+   * Registers my classes with the {@code registry}, always in the same order.
+   * @param registry the SerializationRegistry to register with
+   */
+  void registerWith(final SerializationRegistry registry);
+}
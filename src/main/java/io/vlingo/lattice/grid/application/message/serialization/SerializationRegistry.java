@@ -0,0 +1,171 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.application.message.serialization;
+
+import java.lang.invoke.SerializedLambda;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.nustaq.serialization.FSTConfiguration;
+
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.GridAddress;
+import io.vlingo.actors.Stoppable;
+import io.vlingo.lattice.grid.spaces.Space;
+
+/**
+ * Interns the {@code Class} instances that appear in grid message frames,
+ * such as actor protocols and {@code Definition} types. Registered classes
+ * are written as a compact id, while unregistered classes fall back to their
+ * name, which is resolved only once per node and then cached.
+ * <p>
+ * Ids are assigned in registration order, so every node of the grid must
+ * register the same classes in the same order before any message is sent.
+ * The registered classes are also registered with the {@code FSTConfiguration}
+ * of each thread, which then writes them as ids rather than by name in the
+ * payloads of the messages.
+ */
+public final class SerializationRegistry {
+  static final short Unregistered = 0;
+  static final short NullClass = -1;
+
+  /**
+   * The protocols of the grid that appear in message frames, such as that of
+   * {@code Space} actors and the {@code Stoppable} of actors on other nodes.
+   */
+  public static final Class<?>[] GridProtocols = {
+      Stoppable.class,
+      Space.class
+  };
+
+  /**
+   * The classes of the grid that appear in most FST payloads, such as the
+   * definitions of actors and the lambdas of their messages.
+   */
+  public static final Class<?>[] GridClasses = {
+      Definition.SerializationProxy.class,
+      GridAddress.class,
+      SerializedLambda.class,
+      Object[].class,
+      Class.class,
+      ArrayList.class
+  };
+
+  private final List<Class<?>> classes = new CopyOnWriteArrayList<>();
+  private final Map<Class<?>, Short> ids = new ConcurrentHashMap<>();
+  private final Map<Class<?>, byte[]> names = new ConcurrentHashMap<>();
+  private final Map<String, Class<?>> resolved = new ConcurrentHashMap<>();
+  private final ClassLoader classLoader;
+  private final ThreadLocal<Configuration> configurations = new ThreadLocal<>();
+
+  public SerializationRegistry() {
+    this(SerializationRegistry.class.getClassLoader());
+  }
+
+  public SerializationRegistry(final ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * Registers the {@code types} in order, answering myself for chaining.
+   * @param types the {@code Class<?>...} to register
+   * @return SerializationRegistry
+   */
+  public synchronized SerializationRegistry register(final Class<?>... types) {
+    for (final Class<?> type : types) {
+      if (!ids.containsKey(type)) {
+        if (classes.size() == Short.MAX_VALUE) {
+          throw new IllegalStateException("Too many registered classes.");
+        }
+        classes.add(type);
+        ids.put(type, (short) classes.size());
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Registers the {@code GridProtocols}, the {@code GridClasses}, and then the
+   * classes of every {@code SerializationRegistration} of my class loader in
+   * the order of their class names, answering myself for chaining.
+   * @return SerializationRegistry
+   */
+  public synchronized SerializationRegistry registerGridClasses() {
+    register(GridProtocols).register(GridClasses);
+    final List<SerializationRegistration> registrations = new ArrayList<>();
+    ServiceLoader.load(SerializationRegistration.class, classLoader).forEach(registrations::add);
+    registrations.sort(Comparator.comparing(registration -> registration.getClass().getName()));
+    registrations.forEach(registration -> registration.registerWith(this));
+    return this;
+  }
+
+  /**
+   * Answers the {@code FSTConfiguration} of the calling thread, on which my
+   * classes are registered in my order. FST configurations are not shared
+   * between threads, so that they do not contend on their class caches. A
+   * configuration is replaced once classes were registered after it.
+   * @return FSTConfiguration
+   */
+  public FSTConfiguration configuration() {
+    final Configuration configuration = configurations.get();
+    if (configuration != null && configuration.registered == classes.size()) {
+      return configuration.conf;
+    }
+    final Class<?>[] registered = classes.toArray(new Class<?>[0]);
+    final FSTConfiguration conf = FSTConfiguration.createDefaultConfiguration();
+    conf.registerClass(registered);
+    configurations.set(new Configuration(conf, registered.length));
+    return conf;
+  }
+
+  short idOf(final Class<?> type) {
+    if (type == null) {
+      return NullClass;
+    }
+    final Short id = ids.get(type);
+    return id == null ? Unregistered : id;
+  }
+
+  Class<?> classOf(final short id) {
+    return classes.get(id - 1);
+  }
+
+  byte[] nameOf(final Class<?> type) {
+    return names.computeIfAbsent(type, t -> t.getName().getBytes(StandardCharsets.UTF_8));
+  }
+
+  Class<?> classNamed(final String name) {
+    final Class<?> type = resolved.get(name);
+    if (type != null) {
+      return type;
+    }
+    try {
+      final Class<?> loaded = Class.forName(name, false, classLoader);
+      resolved.put(name, loaded);
+      return loaded;
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException("Unknown class: " + name, e);
+    }
+  }
+
+  private static final class Configuration {
+    final FSTConfiguration conf;
+    final int registered;
+
+    Configuration(final FSTConfiguration conf, final int registered) {
+      this.conf = conf;
+      this.registered = registered;
+    }
+  }
+}
@@ -7,11 +7,64 @@
 
 package io.vlingo.lattice.grid.hashring;
 
+import java.util.UUID;
+
+import io.vlingo.actors.Address;
+
 public interface HashRing<T> {
   void dump();
+
+  /**
+   * Answers the topology epoch of this ring, which changes after every
+   * {@code includeNode()} and {@code excludeNode()}. Callers may reuse the
+   * result of {@code nodeOf()} for as long as the epoch is unchanged.
+   * @return long
+   */
+  long epoch();
+
   HashRing<T> excludeNode(final T nodeIdentifier);
   HashRing<T> includeNode(final T nodeIdentifier);
+
+  /**
+   * Includes {@code nodeIdentifier} so that it is assigned ids in proportion to
+   * its {@code weight} relative to the weights of the other nodes, or changes
+   * its weight if it is already included. {@code includeNode(T)} includes
+   * nodes of weight one.
+   * @param nodeIdentifier the T node to include
+   * @param weight the int weight of the node, greater than zero
+   * @return {@code HashRing<T>}
+   */
+  HashRing<T> includeNode(final T nodeIdentifier, final int weight);
+
   T nodeOf(final Object id);
+
+  /**
+   * Answers the node of the {@code UUID} id given by its {@code high} and
+   * {@code low} bits. Implementations should override this to hash the bits
+   * directly, as the default hashes the string of the {@code UUID}.
+   * @param high the long most significant bits of the id
+   * @param low the long least significant bits of the id
+   * @return T
+   */
+  default T nodeOf(final long high, final long low) {
+    return nodeOf(new UUID(high, low).toString());
+  }
+
+  /**
+   * Answers the node of the {@code address}, through {@code nodeOf(long, long)}
+   * when its id is a {@code UUID}. All routing of addresses must use this, so
+   * that every node assigns an address to the same node.
+   * @param address the Address to route
+   * @return T
+   */
+  default T nodeOf(final Address address) {
+    final Object id = address.idTyped();
+    if (id instanceof UUID) {
+      final UUID uuid = (UUID) id;
+      return nodeOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+    return nodeOf(address.idString());
+  }
   default HashRing<T> copy() {
     throw new UnsupportedOperationException("override in your implementation to support cloning");
   }
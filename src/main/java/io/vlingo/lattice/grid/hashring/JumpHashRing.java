@@ -0,0 +1,178 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A {@code HashRing} of jump consistent hashing (Lamping and Veach), which
+ * needs one slot per unit of node weight rather than {@code pointsPerNode} points.
+ * <p>
+ * Slots are a function of the included nodes and their weights only: nodes
+ * are ordered by identifier and a node of {@code weight} has {@code weight}
+ * consecutive slots. Every ring of the same nodes and weights therefore
+ * agrees, whatever the order in which nodes were included or excluded. A node
+ * that orders after all others only takes its share of ids, but including or
+ * excluding a node that orders before others shifts their slots and moves more
+ * ids than its share.
+ * <p>
+ * Slots are an immutable snapshot replaced under a lock, so that
+ * {@code nodeOf()} is lock-free.
+ */
+public class JumpHashRing<T> implements HashRing<T> {
+
+  private static final long DefaultSeed = 31;
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static final Comparator<Object> NodeOrder = (one, other) ->
+      one instanceof Comparable ? ((Comparable) one).compareTo(other) : one.toString().compareTo(other.toString());
+
+  private final long seed;
+
+  private volatile Snapshot<T> snapshot;
+
+  public JumpHashRing() {
+    this(DefaultSeed);
+  }
+
+  public JumpHashRing(final long seed) {
+    this(seed, new Snapshot<>(new Object[0], new int[0], 0));
+  }
+
+  private JumpHashRing(final long seed, final Snapshot<T> snapshot) {
+    this.seed = seed;
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public void dump() {
+    final Snapshot<T> current = snapshot;
+    System.out.println("SLOTS: " + current.slots.length);
+    for (int slot = 0; slot < current.slots.length; ++slot) {
+      System.out.println("NODE: " + slot + " -> " + current.slots[slot]);
+    }
+  }
+
+  @Override
+  public long epoch() {
+    return snapshot.epoch;
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public synchronized HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    final Snapshot<T> current = snapshot;
+    final int index = current.indexOf(nodeIdentifier);
+    if (index >= 0) {
+      if (current.weights[index] != weight) {
+        final int[] weights = current.weights.clone();
+        weights[index] = weight;
+        snapshot = new Snapshot<>(current.nodes, weights, current.epoch + 1);
+      }
+      return this;
+    }
+
+    final int insertAt = -index - 1;
+    final Object[] nodes = new Object[current.nodes.length + 1];
+    final int[] weights = new int[nodes.length];
+    System.arraycopy(current.nodes, 0, nodes, 0, insertAt);
+    System.arraycopy(current.weights, 0, weights, 0, insertAt);
+    nodes[insertAt] = nodeIdentifier;
+    weights[insertAt] = weight;
+    System.arraycopy(current.nodes, insertAt, nodes, insertAt + 1, current.nodes.length - insertAt);
+    System.arraycopy(current.weights, insertAt, weights, insertAt + 1, current.weights.length - insertAt);
+
+    snapshot = new Snapshot<>(nodes, weights, current.epoch + 1);
+    return this;
+  }
+
+  @Override
+  public synchronized HashRing<T> excludeNode(final T nodeIdentifier) {
+    final Snapshot<T> current = snapshot;
+    final int index = current.indexOf(nodeIdentifier);
+    if (index >= 0) {
+      final Object[] nodes = new Object[current.nodes.length - 1];
+      final int[] weights = new int[nodes.length];
+      System.arraycopy(current.nodes, 0, nodes, 0, index);
+      System.arraycopy(current.weights, 0, weights, 0, index);
+      System.arraycopy(current.nodes, index + 1, nodes, index, nodes.length - index);
+      System.arraycopy(current.weights, index + 1, weights, index, weights.length - index);
+      snapshot = new Snapshot<>(nodes, weights, current.epoch + 1);
+    }
+    return this;
+  }
+
+  @Override
+  public T nodeOf(final Object id) {
+    final byte[] bytes = id.toString().getBytes(StandardCharsets.UTF_8);
+    return snapshot.nodeAt(MurmurHash.hash2_64(ByteBuffer.wrap(bytes), 0, bytes.length, seed));
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    return snapshot.nodeAt(LongPairHash.hash64(high, low, seed));
+  }
+
+  @Override
+  public HashRing<T> copy() {
+    return new JumpHashRing<>(seed, snapshot);
+  }
+
+  private static int jump(long key, final int buckets) {
+    long bucket = -1;
+    long next = 0;
+    while (next < buckets) {
+      bucket = next;
+      key = key * 2862933555777941757L + 1;
+      next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+    }
+    return (int) bucket;
+  }
+
+  private static final class Snapshot<T> {
+    final Object[] nodes;
+    final int[] weights;
+    final Object[] slots;
+    final long epoch;
+
+    Snapshot(final Object[] nodes, final int[] weights, final long epoch) {
+      this.nodes = nodes;
+      this.weights = weights;
+      this.slots = new Object[Arrays.stream(weights).sum()];
+      this.epoch = epoch;
+
+      int slot = 0;
+      for (int index = 0; index < nodes.length; ++index) {
+        Arrays.fill(slots, slot, slot + weights[index], nodes[index]);
+        slot += weights[index];
+      }
+    }
+
+    int indexOf(final Object nodeIdentifier) {
+      return Arrays.binarySearch(nodes, nodeIdentifier, NodeOrder);
+    }
+
+    @SuppressWarnings("unchecked")
+    T nodeAt(final long hash) {
+      if (slots.length == 0) {
+        return null;
+      }
+      return (T) slots[jump(hash, slots.length)];
+    }
+  }
+}
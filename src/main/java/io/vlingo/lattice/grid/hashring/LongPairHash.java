@@ -0,0 +1,35 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+/**
+ * Hashes an id of two {@code long}s, such as a {@code UUID}, to a ring point
+ * without building its string, using the 64-bit finalizer of MurmurHash3.
+ */
+final class LongPairHash {
+
+  static int hash32(final long high, final long low, final int seed) {
+    final long hash = hash64(high, low, seed);
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  static long hash64(final long high, final long low, final long seed) {
+    return mix64(high ^ mix64(low ^ seed));
+  }
+
+  static long mix64(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private LongPairHash() { }
+}
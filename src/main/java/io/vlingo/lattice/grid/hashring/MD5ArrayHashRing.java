@@ -7,8 +7,10 @@
 
 package io.vlingo.lattice.grid.hashring;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.BiFunction;
 
 public class MD5ArrayHashRing<T> extends MD5HashRing<T> implements HashRing<T> {
@@ -31,31 +33,34 @@ public class MD5ArrayHashRing<T> extends MD5HashRing<T> implements HashRing<T> {
 
   @Override
   public HashRing<T> excludeNode(final T nodeIdentifier) {
-    final HashedNodePoint<T>[] exclusive = less();
-    int index = 0;
-    int element = 0;
-    int hash = hashed(nodeIdentifier.toString() + element);
-    for (final HashedNodePoint<T> hashedNodePoint : hashedNodePoints) {
-      if (hashedNodePoint.hash() == hash) {
-        hash = hashed(nodeIdentifier.toString() + (++element));
-      } else {
-        exclusive[index++] = hashedNodePoint;
-      }
-    }
+    hashedNodePoints = without(nodeIdentifier, 0);
 
-    hashedNodePoints = exclusive;
+    ++epoch;
 
     return this;
   }
 
   @Override
   public HashRing<T> includeNode(final T nodeIdentifier) {
-    final int startingAt = moreStartingAt();
-    for (int element = startingAt; element < hashedNodePoints.length; ++element) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    final int points = pointsPerNode * weight;
+    final HashedNodePoint<T>[] inclusive = without(nodeIdentifier, points);
+    final int startingAt = inclusive.length - points;
+    for (int element = 0; element < points; ++element) {
       final int hash = hashed(nodeIdentifier.toString() + element);
-      hashedNodePoints[element] = factory.apply(hash, nodeIdentifier);
+      inclusive[startingAt + element] = factory.apply(hash, nodeIdentifier);
     }
-    Arrays.sort(hashedNodePoints, Comparator.comparingInt(HashedIdentity::hash));
+    Arrays.sort(inclusive, Comparator.comparingInt(HashedIdentity::hash));
+    hashedNodePoints = inclusive;
+
+    ++epoch;
 
     return this;
   }
@@ -73,17 +78,18 @@ public class MD5ArrayHashRing<T> extends MD5HashRing<T> implements HashRing<T> {
     return hashedNodePoints[index].nodeIdentifier;
   }
 
+  /**
+   * Answers my points except those of {@code nodeIdentifier}, followed by
+   * {@code room} empty elements.
+   */
   @SuppressWarnings("unchecked")
-  private HashedNodePoint<T>[] less() {
-    final HashedNodePoint<T>[] less = new HashedNodePoint[hashedNodePoints.length - pointsPerNode];
-    return less;
-  }
-
-  @SuppressWarnings("unchecked")
-  private int moreStartingAt() {
-    final HashedNodePoint<T>[] previous = hashedNodePoints;
-    hashedNodePoints = new HashedNodePoint[previous.length + pointsPerNode];
-    System.arraycopy(previous, 0, hashedNodePoints, 0, previous.length);
-    return previous.length;
+  private HashedNodePoint<T>[] without(final T nodeIdentifier, final int room) {
+    final List<HashedNodePoint<T>> others = new ArrayList<>(hashedNodePoints.length + room);
+    for (final HashedNodePoint<T> hashedNodePoint : hashedNodePoints) {
+      if (!nodeIdentifier.equals(hashedNodePoint.nodeIdentifier)) {
+        others.add(hashedNodePoint);
+      }
+    }
+    return others.toArray(new HashedNodePoint[others.size() + room]);
   }
 }
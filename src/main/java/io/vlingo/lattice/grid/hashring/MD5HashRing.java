@@ -16,6 +16,7 @@ public abstract class MD5HashRing<T> implements HashRing<T> {
   protected final BiFunction<Integer, T, HashedNodePoint<T>> factory;
   protected final MessageDigest hasher;
   protected final int pointsPerNode;
+  protected volatile long epoch;
 
   protected MD5HashRing(final int pointsPerNode, final BiFunction<Integer, T, HashedNodePoint<T>> factory) throws Exception {
     this.pointsPerNode = pointsPerNode;
@@ -23,6 +24,11 @@ public abstract class MD5HashRing<T> implements HashRing<T> {
     this.hasher = MessageDigest.getInstance("MD5");
   }
 
+  @Override
+  public long epoch() {
+    return epoch;
+  }
+
   protected int hashed(final Object id) {
     hasher.reset();
     hasher.update(StandardCharsets.UTF_8.encode(id.toString()));
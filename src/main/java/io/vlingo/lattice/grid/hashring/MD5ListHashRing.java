@@ -35,24 +35,24 @@ public class MD5ListHashRing<T> extends MD5HashRing<T> {
 
   @Override
   public HashRing<T> excludeNode(final T nodeIdentifier) {
-    final ListIterator<HashedNodePoint<T>> iterator = hashedNodePoints.listIterator();
-    int element = 0;
-    int hash = hashed(nodeIdentifier.toString() + element);
-    while (iterator.hasNext()) {
-      final HashedNodePoint<T> hashedNodePoint = iterator.next();
-      if (hashedNodePoint.hash() == hash) {
-        hash = hashed(nodeIdentifier.toString() + (++element));
-      } else {
-        iterator.remove();
-        hashedNodePoint.excluded();
-      }
-    }
+    remove(nodeIdentifier);
+    ++epoch;
+
     return this;
   }
 
   @Override
   public HashRing<T> includeNode(final T nodeIdentifier) {
-    for (int element = 0; element < pointsPerNode; ++element) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    remove(nodeIdentifier);
+    for (int element = 0; element < pointsPerNode * weight; ++element) {
       hasher.reset();
       hasher.update(StandardCharsets.UTF_8.encode(nodeIdentifier.toString() + element));
       final int hash = Arrays.hashCode(hasher.digest());
@@ -62,6 +62,8 @@ public class MD5ListHashRing<T> extends MD5HashRing<T> {
     }
     Collections.sort(hashedNodePoints, Comparator.comparingInt(HashedIdentity::hash));
 
+    ++epoch;
+
     return this;
   }
 
@@ -77,4 +79,15 @@ public class MD5ListHashRing<T> extends MD5HashRing<T> {
     }
     return hashedNodePoints.get(index).nodeIdentifier;
   }
+
+  private void remove(final T nodeIdentifier) {
+    final ListIterator<HashedNodePoint<T>> iterator = hashedNodePoints.listIterator();
+    while (iterator.hasNext()) {
+      final HashedNodePoint<T> hashedNodePoint = iterator.next();
+      if (nodeIdentifier.equals(hashedNodePoint.nodeIdentifier)) {
+        iterator.remove();
+        hashedNodePoint.excluded();
+      }
+    }
+  }
 }
@@ -8,8 +8,10 @@
 package io.vlingo.lattice.grid.hashring;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.BiFunction;
 
 public class MurmurArrayHashRing<T> implements HashRing<T> {
@@ -20,6 +22,7 @@ public class MurmurArrayHashRing<T> implements HashRing<T> {
   private HashedNodePoint<T>[] hashedNodePoints;
   private final int pointsPerNode;
   private final int seed;
+  private volatile long epoch;
 
   public MurmurArrayHashRing(final int pointsPerNode, final BiFunction<Integer, T, HashedNodePoint<T>> factory) {
     this(pointsPerNode, factory, DefaultSeed);
@@ -44,44 +47,62 @@ public class MurmurArrayHashRing<T> implements HashRing<T> {
 
   @Override
   public HashRing<T> excludeNode(final T nodeIdentifier) {
-    final HashedNodePoint<T>[] exclusive = less();
-    int index = 0;
-    int element = 0;
-    int hash = hashed(nodeIdentifier.toString() + element);
-    for (final HashedNodePoint<T> hashedNodePoint : hashedNodePoints) {
-      if (hashedNodePoint.hash() == hash) {
-        hashedNodePoint.excluded();
-        hash = hashed(nodeIdentifier.toString() + (++element));
-      } else {
-        exclusive[index++] = hashedNodePoint;
-      }
-    }
+    hashedNodePoints = without(nodeIdentifier, 0);
 
-    hashedNodePoints = exclusive;
+    ++epoch;
 
     return this;
   }
 
   @Override
   public HashRing<T> includeNode(final T nodeIdentifier) {
-    final int startingAt = moreStartingAt();
-    for (int element = startingAt; element < hashedNodePoints.length; ++element) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    final int points = pointsPerNode * weight;
+    final HashedNodePoint<T>[] inclusive = without(nodeIdentifier, points);
+    final int startingAt = inclusive.length - points;
+    for (int element = 0; element < points; ++element) {
       final int hash = hashed(nodeIdentifier.toString() + element);
       final HashedNodePoint<T> hashedNodePoint = factory.apply(hash, nodeIdentifier);
-      hashedNodePoints[element] = hashedNodePoint;
+      inclusive[startingAt + element] = hashedNodePoint;
       hashedNodePoint.included();
     }
-    Arrays.sort(hashedNodePoints, Comparator.comparingInt(HashedIdentity::hash));
+    Arrays.sort(inclusive, Comparator.comparingInt(HashedIdentity::hash));
+    hashedNodePoints = inclusive;
+
+    ++epoch;
 
     return this;
   }
 
+  @Override
+  public long epoch() {
+    return epoch;
+  }
+
   @Override
   public T nodeOf(final Object id) {
     if (hashedNodePoints.length == 0) {
       return null;
     }
-    final HashedNodePoint<T> hashedNodePoint = hashedNodePointOf(id);
+    return nodeAt(hashedNodePointOf(id));
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    if (hashedNodePoints.length == 0) {
+      return null;
+    }
+    return nodeAt(factory.apply(LongPairHash.hash32(high, low, seed), null));
+  }
+
+  private T nodeAt(final HashedNodePoint<T> hashedNodePoint) {
     int index = Arrays.binarySearch(hashedNodePoints, hashedNodePoint, Comparator.comparingInt(HashedIdentity::hash));
     if (index < 0) {
       index = -index;
@@ -103,17 +124,20 @@ public class MurmurArrayHashRing<T> implements HashRing<T> {
     return hashedNodePoint;
   }
 
+  /**
+   * Answers my points except those of {@code nodeIdentifier}, which are
+   * excluded, followed by {@code room} empty elements.
+   */
   @SuppressWarnings("unchecked")
-  private HashedNodePoint<T>[] less() {
-    final HashedNodePoint<T>[] less = new HashedNodePoint[hashedNodePoints.length - pointsPerNode];
-    return less;
-  }
-
-  @SuppressWarnings("unchecked")
-  private int moreStartingAt() {
-    final HashedNodePoint<T>[] previous = hashedNodePoints;
-    hashedNodePoints = new HashedNodePoint[previous.length + pointsPerNode];
-    System.arraycopy(previous, 0, hashedNodePoints, 0, previous.length);
-    return previous.length;
+  private HashedNodePoint<T>[] without(final T nodeIdentifier, final int room) {
+    final List<HashedNodePoint<T>> others = new ArrayList<>(hashedNodePoints.length + room);
+    for (final HashedNodePoint<T> hashedNodePoint : hashedNodePoints) {
+      if (nodeIdentifier.equals(hashedNodePoint.nodeIdentifier)) {
+        hashedNodePoint.excluded();
+      } else {
+        others.add(hashedNodePoint);
+      }
+    }
+    return others.toArray(new HashedNodePoint[others.size() + room]);
   }
 }
@@ -0,0 +1,186 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@code HashRing} of the same Murmur points as {@code MurmurSortedMapHashRing},
+ * held as a sorted {@code int[]} of points with a parallel array of their nodes.
+ * A node of {@code weight} has {@code weight} times {@code pointsPerNode} points.
+ * <p>
+ * Both arrays form an immutable {@code Snapshot} that {@code includeNode()} and
+ * {@code excludeNode()} replace under a lock, so that {@code nodeOf()} reads
+ * the current snapshot without locking and is safe while nodes join and leave.
+ */
+public class MurmurSnapshotHashRing<T> implements HashRing<T> {
+
+  private static final int DefaultSeed = 31;
+
+  private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(64));
+
+  private final int pointsPerNode;
+  private final int seed;
+
+  private volatile Snapshot<T> snapshot;
+
+  public MurmurSnapshotHashRing(final int pointsPerNode) {
+    this(pointsPerNode, DefaultSeed);
+  }
+
+  public MurmurSnapshotHashRing(final int pointsPerNode, final int seed) {
+    this(pointsPerNode, seed, new Snapshot<>(new int[0], new Object[0], 0));
+  }
+
+  private MurmurSnapshotHashRing(final int pointsPerNode, final int seed, final Snapshot<T> snapshot) {
+    this.pointsPerNode = pointsPerNode;
+    this.seed = seed;
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public void dump() {
+    final Snapshot<T> current = snapshot;
+    System.out.println("NODES: " + current.points.length);
+    for (int index = 0; index < current.points.length; ++index) {
+      System.out.println("NODE: " + current.points[index] + " -> " + current.nodes[index]);
+    }
+  }
+
+  @Override
+  public long epoch() {
+    return snapshot.epoch;
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public synchronized HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    final Snapshot<T> current = without(snapshot, nodeIdentifier);
+    final int[] added = new int[pointsPerNode * weight];
+    for (int i = 0; i < added.length; i++) {
+      added[i] = hashed(nodeIdentifier.toString() + i);
+    }
+    Arrays.sort(added);
+
+    final int[] points = new int[current.points.length + added.length];
+    final Object[] nodes = new Object[points.length];
+    int length = 0;
+    int existing = 0;
+    for (int index = 0; index < added.length; ++index) {
+      final int point = added[index];
+      while (existing < current.points.length && current.points[existing] < point) {
+        points[length] = current.points[existing];
+        nodes[length++] = current.nodes[existing++];
+      }
+      final boolean taken = existing < current.points.length && current.points[existing] == point;
+      if (!taken && (length == 0 || points[length - 1] != point)) {
+        points[length] = point;
+        nodes[length++] = nodeIdentifier;
+      }
+    }
+    while (existing < current.points.length) {
+      points[length] = current.points[existing];
+      nodes[length++] = current.nodes[existing++];
+    }
+
+    snapshot = new Snapshot<>(Arrays.copyOf(points, length), Arrays.copyOf(nodes, length), current.epoch + 1);
+    return this;
+  }
+
+  @Override
+  public synchronized HashRing<T> excludeNode(final T nodeIdentifier) {
+    final Snapshot<T> current = snapshot;
+    final Snapshot<T> excluded = without(current, nodeIdentifier);
+    snapshot = new Snapshot<>(excluded.points, excluded.nodes, current.epoch + 1);
+    return this;
+  }
+
+  @Override
+  public T nodeOf(final Object id) {
+    final Snapshot<T> current = snapshot;
+    if (current.points.length == 0) {
+      return null;
+    }
+    return current.nodeAt(hashed(id));
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    final Snapshot<T> current = snapshot;
+    if (current.points.length == 0) {
+      return null;
+    }
+    return current.nodeAt(LongPairHash.hash32(high, low, seed));
+  }
+
+  @Override
+  public HashRing<T> copy() {
+    return new MurmurSnapshotHashRing<>(pointsPerNode, seed, snapshot);
+  }
+
+  private Snapshot<T> without(final Snapshot<T> current, final T nodeIdentifier) {
+    final int[] points = new int[current.points.length];
+    final Object[] nodes = new Object[points.length];
+    int length = 0;
+    for (int index = 0; index < current.points.length; ++index) {
+      if (!nodeIdentifier.equals(current.nodes[index])) {
+        points[length] = current.points[index];
+        nodes[length++] = current.nodes[index];
+      }
+    }
+    if (length == points.length) {
+      return current;
+    }
+    return new Snapshot<>(Arrays.copyOf(points, length), Arrays.copyOf(nodes, length), current.epoch);
+  }
+
+  private int hashed(final Object id) {
+    final byte[] bytes = id.toString().getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = buffers.get();
+    if (buffer.capacity() < bytes.length) {
+      buffer = ByteBuffer.allocate(Math.max(bytes.length, buffer.capacity() * 2));
+      buffers.set(buffer);
+    }
+    buffer.clear();
+    buffer.put(bytes);
+    return MurmurHash.hash32(buffer, 0, buffer.position(), seed);
+  }
+
+  private static final class Snapshot<T> {
+    final int[] points;
+    final Object[] nodes;
+    final long epoch;
+
+    Snapshot(final int[] points, final Object[] nodes, final long epoch) {
+      this.points = points;
+      this.nodes = nodes;
+      this.epoch = epoch;
+    }
+
+    @SuppressWarnings("unchecked")
+    T nodeAt(final int hash) {
+      int index = Arrays.binarySearch(points, hash);
+      if (index < 0) {
+        index = -index - 1;
+        if (index == points.length) {
+          index = 0;
+        }
+      }
+      return (T) nodes[index];
+    }
+  }
+}
@@ -12,6 +12,8 @@ import io.vlingo.common.pool.ResourceFactory;
 import io.vlingo.common.pool.ResourcePool;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -52,6 +54,8 @@ public class MurmurSortedMapHashRing<T> implements HashRing<T> {
           });
 
   private final SortedMap<Integer, T> ring;
+  private final Map<T, Integer> weights;
+  private volatile long epoch;
 
   public MurmurSortedMapHashRing(final int pointsPerNode) {
     this(pointsPerNode, DefaultSeed);
@@ -61,12 +65,14 @@ public class MurmurSortedMapHashRing<T> implements HashRing<T> {
     this.pointsPerNode = pointsPerNode;
     this.seed = seed;
     this.ring = new TreeMap<>();
+    this.weights = new HashMap<>();
   }
 
-  private MurmurSortedMapHashRing(final int pointsPerNode, final int seed, final SortedMap<Integer, T> ring) {
+  private MurmurSortedMapHashRing(final int pointsPerNode, final int seed, final SortedMap<Integer, T> ring, final Map<T, Integer> weights) {
     this.pointsPerNode = pointsPerNode;
     this.seed = seed;
     this.ring = ring;
+    this.weights = weights;
   }
 
 
@@ -80,10 +86,21 @@ public class MurmurSortedMapHashRing<T> implements HashRing<T> {
 
   @Override
   public HashRing<T> includeNode(T nodeIdentifier) {
-    for (int i = 0; i < pointsPerNode; i++) {
+    return includeNode(nodeIdentifier, 1);
+  }
+
+  @Override
+  public HashRing<T> includeNode(T nodeIdentifier, int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    removePoints(nodeIdentifier);
+    for (int i = 0; i < pointsPerNode * weight; i++) {
       final int hash = hashed(nodeIdentifier.toString() + i);
       ring.put(hash, nodeIdentifier);
     }
+    weights.put(nodeIdentifier, weight);
+    ++epoch;
     return this;
   }
 
@@ -102,19 +119,47 @@ public class MurmurSortedMapHashRing<T> implements HashRing<T> {
 
   @Override
   public HashRing<T> excludeNode(T nodeIdentifier) {
-    for (int i = 0; i < pointsPerNode; i++) {
-      final int hash = hashed(nodeIdentifier.toString() + i);
-      ring.remove(hash);
-    }
+    removePoints(nodeIdentifier);
+    ++epoch;
     return this;
   }
 
+  /**
+   * Removes the points of {@code nodeIdentifier} by their hashes, except those
+   * that collided with the points of another node included after it.
+   */
+  private void removePoints(final T nodeIdentifier) {
+    final Integer weight = weights.remove(nodeIdentifier);
+    if (weight == null) {
+      return;
+    }
+    for (int i = 0; i < pointsPerNode * weight; i++) {
+      ring.remove(hashed(nodeIdentifier.toString() + i), nodeIdentifier);
+    }
+  }
+
+  @Override
+  public long epoch() {
+    return epoch;
+  }
+
   @Override
   public T nodeOf(Object id) {
     if (ring.isEmpty()) {
       return null;
     }
-    int hash = hashed(id);
+    return nodeAt(hashed(id));
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    return nodeAt(LongPairHash.hash32(high, low, seed));
+  }
+
+  private T nodeAt(int hash) {
     if (!ring.containsKey(hash)) {
       SortedMap<Integer, T> tailMap =
           ring.tailMap(hash);
@@ -128,6 +173,6 @@ public class MurmurSortedMapHashRing<T> implements HashRing<T> {
   @SuppressWarnings("unchecked")
   public HashRing<T> copy() {
     final TreeMap<Integer, T> _ring = (TreeMap<Integer, T>) this.ring;
-    return new MurmurSortedMapHashRing<>(this.pointsPerNode, this.seed, (TreeMap<Integer, T>) _ring.clone());
+    return new MurmurSortedMapHashRing<>(this.pointsPerNode, this.seed, (TreeMap<Integer, T>) _ring.clone(), new HashMap<>(this.weights));
   }
 }
@@ -0,0 +1,143 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.actors.Address;
+
+/**
+ * A {@code HashRing} that assigns placed addresses to the node they are placed
+ * on, and everything else as its {@code ring} does, so that hot actors can be
+ * moved off the node their hash assigns them to.
+ * <p>
+ * Placements are an immutable snapshot replaced under a lock, so that
+ * {@code nodeOf()} is lock-free. Every placement change advances the epoch,
+ * as does every change of the {@code ring}. Excluding a node drops the
+ * placements on it, so that its actors return to their hashed nodes.
+ */
+public class PlacementHashRing<T> implements HashRing<T> {
+
+  private final HashRing<T> ring;
+
+  private volatile Placements<T> placements;
+
+  public PlacementHashRing(final HashRing<T> ring) {
+    this(ring, new Placements<>(Collections.emptyMap(), 0));
+  }
+
+  private PlacementHashRing(final HashRing<T> ring, final Placements<T> placements) {
+    this.ring = ring;
+    this.placements = placements;
+  }
+
+  /**
+   * Assigns {@code address} to {@code nodeIdentifier} regardless of its hash.
+   * @param address the Address to place
+   * @param nodeIdentifier the T node to assign it to
+   */
+  public synchronized void place(final Address address, final T nodeIdentifier) {
+    final Placements<T> current = placements;
+    if (nodeIdentifier.equals(current.nodes.get(address))) {
+      return;
+    }
+    final Map<Address, T> nodes = new HashMap<>(current.nodes);
+    nodes.put(address, nodeIdentifier);
+    placements = new Placements<>(nodes, current.epoch + 1);
+  }
+
+  /**
+   * Assigns {@code address} to its hashed node again.
+   * @param address the Address to unplace
+   */
+  public synchronized void unplace(final Address address) {
+    final Placements<T> current = placements;
+    if (!current.nodes.containsKey(address)) {
+      return;
+    }
+    final Map<Address, T> nodes = new HashMap<>(current.nodes);
+    nodes.remove(address);
+    placements = new Placements<>(nodes, current.epoch + 1);
+  }
+
+  /**
+   * Answers the current placements of addresses on nodes.
+   * @return {@code Map<Address, T>}
+   */
+  public Map<Address, T> placements() {
+    return placements.nodes;
+  }
+
+  @Override
+  public void dump() {
+    ring.dump();
+    placements.nodes.forEach((address, node) -> System.out.println("PLACED: " + address + " -> " + node));
+  }
+
+  @Override
+  public long epoch() {
+    return ring.epoch() + placements.epoch;
+  }
+
+  @Override
+  public synchronized HashRing<T> excludeNode(final T nodeIdentifier) {
+    ring.excludeNode(nodeIdentifier);
+    final Placements<T> current = placements;
+    if (current.nodes.containsValue(nodeIdentifier)) {
+      final Map<Address, T> nodes = new HashMap<>(current.nodes);
+      nodes.values().removeIf(nodeIdentifier::equals);
+      placements = new Placements<>(nodes, current.epoch + 1);
+    }
+    return this;
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier) {
+    ring.includeNode(nodeIdentifier);
+    return this;
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    ring.includeNode(nodeIdentifier, weight);
+    return this;
+  }
+
+  @Override
+  public T nodeOf(final Object id) {
+    return ring.nodeOf(id);
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    return ring.nodeOf(high, low);
+  }
+
+  @Override
+  public T nodeOf(final Address address) {
+    final T placed = placements.nodes.get(address);
+    return placed != null ? placed : ring.nodeOf(address);
+  }
+
+  @Override
+  public HashRing<T> copy() {
+    return new PlacementHashRing<>(ring.copy(), placements);
+  }
+
+  private static final class Placements<T> {
+    final Map<Address, T> nodes;
+    final long epoch;
+
+    Placements(final Map<Address, T> nodes, final long epoch) {
+      this.nodes = Collections.unmodifiableMap(nodes);
+      this.epoch = epoch;
+    }
+  }
+}
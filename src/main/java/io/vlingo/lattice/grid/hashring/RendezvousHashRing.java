@@ -0,0 +1,171 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@code HashRing} of weighted rendezvous (highest random weight) hashing,
+ * which needs one hash per node rather than {@code pointsPerNode} points.
+ * <p>
+ * Each id scores every node by {@code -weight / ln(u)}, where {@code u} is the
+ * hash of the id and the node mapped to (0, 1), and is assigned to the node of
+ * highest score. Including or excluding a node moves only the ids that it wins
+ * or loses, regardless of the order in which nodes join, and each node is
+ * assigned ids in proportion to its weight.
+ * <p>
+ * Nodes are an immutable snapshot replaced under a lock, so that
+ * {@code nodeOf()} is lock-free; it scores all nodes, so it is meant for grids
+ * of up to some hundreds of nodes.
+ */
+public class RendezvousHashRing<T> implements HashRing<T> {
+
+  private static final long DefaultSeed = 31;
+  private static final int DefaultWeight = 1;
+
+  private final long seed;
+
+  private volatile Snapshot<T> snapshot;
+
+  public RendezvousHashRing() {
+    this(DefaultSeed);
+  }
+
+  public RendezvousHashRing(final long seed) {
+    this(seed, new Snapshot<>(new Object[0], new long[0], new double[0], 0));
+  }
+
+  private RendezvousHashRing(final long seed, final Snapshot<T> snapshot) {
+    this.seed = seed;
+    this.snapshot = snapshot;
+  }
+
+  @Override
+  public void dump() {
+    final Snapshot<T> current = snapshot;
+    System.out.println("NODES: " + current.nodes.length);
+    for (int index = 0; index < current.nodes.length; ++index) {
+      System.out.println("NODE: " + current.nodes[index] + " weight: " + current.weights[index]);
+    }
+  }
+
+  @Override
+  public long epoch() {
+    return snapshot.epoch;
+  }
+
+  @Override
+  public HashRing<T> includeNode(final T nodeIdentifier) {
+    return includeNode(nodeIdentifier, DefaultWeight);
+  }
+
+  @Override
+  public synchronized HashRing<T> includeNode(final T nodeIdentifier, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight must be greater than zero.");
+    }
+    final Snapshot<T> current = snapshot;
+    final int index = current.indexOf(nodeIdentifier);
+    final int length = index < 0 ? current.nodes.length + 1 : current.nodes.length;
+    final Object[] nodes = Arrays.copyOf(current.nodes, length);
+    final long[] hashes = Arrays.copyOf(current.hashes, length);
+    final double[] weights = Arrays.copyOf(current.weights, length);
+    final int at = index < 0 ? length - 1 : index;
+    nodes[at] = nodeIdentifier;
+    hashes[at] = hashed(nodeIdentifier);
+    weights[at] = weight;
+
+    snapshot = new Snapshot<>(nodes, hashes, weights, current.epoch + 1);
+    return this;
+  }
+
+  @Override
+  public synchronized HashRing<T> excludeNode(final T nodeIdentifier) {
+    final Snapshot<T> current = snapshot;
+    final int index = current.indexOf(nodeIdentifier);
+    if (index < 0) {
+      return this;
+    }
+    final int length = current.nodes.length - 1;
+    final Object[] nodes = new Object[length];
+    final long[] hashes = new long[length];
+    final double[] weights = new double[length];
+    System.arraycopy(current.nodes, 0, nodes, 0, index);
+    System.arraycopy(current.hashes, 0, hashes, 0, index);
+    System.arraycopy(current.weights, 0, weights, 0, index);
+    System.arraycopy(current.nodes, index + 1, nodes, index, length - index);
+    System.arraycopy(current.hashes, index + 1, hashes, index, length - index);
+    System.arraycopy(current.weights, index + 1, weights, index, length - index);
+
+    snapshot = new Snapshot<>(nodes, hashes, weights, current.epoch + 1);
+    return this;
+  }
+
+  @Override
+  public T nodeOf(final Object id) {
+    return snapshot.nodeAt(hashed(id));
+  }
+
+  @Override
+  public T nodeOf(final long high, final long low) {
+    return snapshot.nodeAt(LongPairHash.hash64(high, low, seed));
+  }
+
+  @Override
+  public HashRing<T> copy() {
+    return new RendezvousHashRing<>(seed, snapshot);
+  }
+
+  private long hashed(final Object id) {
+    final byte[] bytes = id.toString().getBytes(StandardCharsets.UTF_8);
+    return MurmurHash.hash2_64(ByteBuffer.wrap(bytes), 0, bytes.length, seed);
+  }
+
+  private static final class Snapshot<T> {
+    final Object[] nodes;
+    final long[] hashes;
+    final double[] weights;
+    final long epoch;
+
+    Snapshot(final Object[] nodes, final long[] hashes, final double[] weights, final long epoch) {
+      this.nodes = nodes;
+      this.hashes = hashes;
+      this.weights = weights;
+      this.epoch = epoch;
+    }
+
+    int indexOf(final Object nodeIdentifier) {
+      for (int index = 0; index < nodes.length; ++index) {
+        if (nodes[index].equals(nodeIdentifier)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    T nodeAt(final long hash) {
+      int winner = -1;
+      double highest = Double.NEGATIVE_INFINITY;
+      long highestHash = 0;
+      for (int index = 0; index < nodes.length; ++index) {
+        final long combined = LongPairHash.mix64(hash ^ hashes[index]);
+        final double unit = ((combined >>> 11) + 0.5) * 0x1.0p-53;
+        final double score = -weights[index] / Math.log(unit);
+        if (score > highest || (score == highest && combined > highestHash)) {
+          winner = index;
+          highest = score;
+          highestHash = combined;
+        }
+      }
+      return winner < 0 ? null : (T) nodes[winner];
+    }
+  }
+}
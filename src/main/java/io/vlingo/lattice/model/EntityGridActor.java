@@ -1,14 +1,125 @@
 package io.vlingo.lattice.model;
 
-import io.vlingo.actors.StatelessGridActor;
+import java.io.Serializable;
+
+import io.vlingo.actors.GridActor;
+
+/**
+ * Abstract base of the entities of a grid, which restore their state from their
+ * store when relocated to another node, unless they relocate their state with them.
+ */
+public abstract class EntityGridActor extends GridActor<EntityGridActor.RelocatedState> {
+
+  private boolean restoredFromRelocation;
+  private boolean awaitingStore;
 
-public abstract class EntityGridActor extends StatelessGridActor {
-  
   @Override
-  protected final void resumeFromRelocation() {
-    restore();
-    super.resumeFromRelocation();
+  public final RelocatedState provideRelocationSnapshot() {
+    if (awaitingStore) {
+      // the stored state may be ahead of mine
+      return null;
+    }
+    final Object state = relocationState();
+    return state == null ? null : new RelocatedState(state, relocationVersion());
+  }
+
+  /**
+   * Restores my state from the {@code snapshot} relocated with me, and then
+   * from what my store holds of it newer than the {@code snapshot}, or only
+   * from my store if no state was relocated with me. Received through my
+   * mailbox ahead of all other messages, as it is suspended until resumed.
+   * @param snapshot the RelocatedState relocated with me, or null
+   */
+  @Override
+  public final void applyRelocationSnapshot(final RelocatedState snapshot) {
+    if (snapshot == null) {
+      restore();
+    } else {
+      restoredFromRelocation = true;
+      restoreRelocated(snapshot.state, snapshot.version);
+      restoreAfter(snapshot.version);
+    }
+  }
+
+  /**
+   * Restores my state from the {@code snapshot} replicated by my owner, so
+   * that a replica of me need not restore it from my store when started.
+   */
+  @Override
+  protected final void applyReplica(final RelocatedState snapshot) {
+    restoredFromRelocation = true;
+    restoreRelocated(snapshot.state, snapshot.version);
+  }
+
+  /**
+   * Answer whether my state was restored when I was relocated, or from the
+   * state replicated to me, in which case I need not restore it when started.
+   * @return boolean
+   */
+  protected final boolean isRestoredFromRelocation() {
+    return restoredFromRelocation;
+  }
+
+  /*
+   * @see io.vlingo.actors.Actor#stowMessages(java.lang.Class[])
+   */
+  @Override
+  protected void stowMessages(final Class<?>... stowageOverrides) {
+    awaitingStore = true;
+    super.stowMessages(stowageOverrides);
+  }
+
+  /*
+   * @see io.vlingo.actors.Actor#disperseStowedMessages()
+   */
+  @Override
+  protected void disperseStowedMessages() {
+    awaitingStore = false;
+    super.disperseStowedMessages();
   }
 
   protected abstract void restore();
+
+  /**
+   * Answer my current state to relocate with me, which must be serializable,
+   * or {@code null} to restore my state from my store when relocated.
+   * @return Object
+   */
+  protected abstract Object relocationState();
+
+  /**
+   * Answer the version of my {@code relocationState()}.
+   * @return long
+   */
+  protected abstract long relocationVersion();
+
+  /**
+   * Restore my state from the {@code state} and {@code version} relocated with me.
+   * @param state the Object state answered by {@code relocationState()}
+   * @param version the long version answered by {@code relocationVersion()}
+   */
+  protected abstract void restoreRelocated(final Object state, final long version);
+
+  /**
+   * Restore from my store the changes to my state that are newer than the
+   * {@code version} relocated with me, which my store may have received after
+   * my state was relocated, or does nothing if there are none.
+   * @param version the long version of my state relocated with me
+   */
+  protected abstract void restoreAfter(final long version);
+
+  /**
+   * The current state and version of an entity, relocated with it.
+   */
+  public static final class RelocatedState implements Serializable {
+    private static final long serialVersionUID = 5306208455148213597L;
+
+    public final Object state;
+    public final long version;
+
+    public RelocatedState(final Object state, final long version) {
+      this.state = state;
+      this.version = version;
+    }
+  }
 }
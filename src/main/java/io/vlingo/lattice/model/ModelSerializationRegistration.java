@@ -0,0 +1,21 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.model;
+
+import io.vlingo.lattice.grid.application.message.serialization.SerializationRegistration;
+import io.vlingo.lattice.grid.application.message.serialization.SerializationRegistry;
+
+/**
+ * Registers the classes of the model that entities relocate with them.
+ */
+public final class ModelSerializationRegistration implements SerializationRegistration {
+  @Override
+  public void registerWith(final SerializationRegistry registry) {
+    registry.register(EntityGridActor.RelocatedState.class);
+  }
+}
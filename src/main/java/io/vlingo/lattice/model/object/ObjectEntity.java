@@ -61,6 +61,10 @@ public abstract class ObjectEntity<T extends StateObject> extends EntityGridActo
   public void start() {
     super.start();
 
+    if (isRestoredFromRelocation()) {
+      return;
+    }
+
     final Tuple2<T,List<Source<String>>> newState = whenNewState();
 
     if (newState == null) {
@@ -239,6 +243,19 @@ public abstract class ObjectEntity<T extends StateObject> extends EntityGridActo
    */
   protected abstract Class<T> stateObjectType();
 
+  /**
+   * Answer my {@code stateObject()} to relocate with me when I am moved to
+   * another node of the grid, where it is restored by means of
+   * {@code stateObject(final T stateObject)} rather than queried from my store.
+   * Must override, answering a serializable state object, if relocation of
+   * state is to be supported.
+   * @return T
+   */
+  @Override
+  protected T relocationState() {
+    return null;
+  }
+
   /**
    * Restore my current state, dispatching to {@code state(final S state)} when completed.
    */
@@ -263,6 +280,31 @@ public abstract class ObjectEntity<T extends StateObject> extends EntityGridActo
   // FOR INTERNAL USE ONLY.
   //=====================================
 
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#relocationVersion()
+   */
+  @Override
+  protected final long relocationVersion() {
+    return stateObject().version();
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreRelocated(java.lang.Object, long)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  protected final void restoreRelocated(final Object state, final long version) {
+    stateObject((T) state);
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreAfter(long)
+   */
+  @Override
+  protected final void restoreAfter(final long version) {
+    restore(true);
+  }
+
   /*
    * @see io.vlingo.symbio.store.object.ObjectStore.QueryResultInterest#queryAllResultedIn(io.vlingo.common.Outcome, io.vlingo.symbio.store.object.ObjectStore.QueryMultiResults, java.lang.Object)
    */
@@ -282,7 +324,12 @@ public abstract class ObjectEntity<T extends StateObject> extends EntityGridActo
           final Object object) {
     outcome
       .andThen(result -> {
-        stateObject((T) queryResult.stateObject);
+        final T stored = (T) queryResult.stateObject;
+        final T current = stateObject();
+        // the state relocated with me may be newer than the stored one
+        if (stored != null && (current == null || stored.version() >= current.version())) {
+          stateObject(stored);
+        }
         disperseStowedMessages();
         return result;
       })
@@ -98,7 +98,9 @@ public abstract class Sourced<T> extends EntityGridActor implements AppendResult
   public void start() {
     super.start();
 
-    restore();
+    if (!isRestoredFromRelocation()) {
+      restore();
+    }
   }
 
 
@@ -296,6 +298,19 @@ public abstract class Sourced<T> extends EntityGridActor implements AppendResult
     return null;
   }
 
+  /**
+   * Answer a valid {@code SNAPSHOT} of my full current state to relocate with me
+   * when I am moved to another node of the grid, where it is restored by means of
+   * {@code restoreSnapshot()} rather than by replaying my journal.
+   * Must override, answering a serializable snapshot, if relocation of
+   * snapshots is to be supported.
+   * @param <SNAPSHOT> the type of the snapshot
+   * @return {@code SNAPSHOT}
+   */
+  protected <SNAPSHOT> SNAPSHOT relocationSnapshot() {
+    return null;
+  }
+
   /**
    * Answer a representation of a number of segments as a
    * composite stream name. The implementor of {@code streamName()}
@@ -414,6 +429,57 @@ public abstract class Sourced<T> extends EntityGridActor implements AppendResult
   // internal implementation
   //==================================
 
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#relocationState()
+   */
+  @Override
+  protected final Object relocationState() {
+    return relocationSnapshot();
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#relocationVersion()
+   */
+  @Override
+  protected final long relocationVersion() {
+    return currentVersion;
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreRelocated(java.lang.Object, long)
+   */
+  @Override
+  protected final void restoreRelocated(final Object state, final long version) {
+    this.currentVersion = Math.toIntExact(version);
+    restoreSnapshot(state, currentVersion);
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreAfter(long)
+   */
+  @Override
+  protected final void restoreAfter(final long version) {
+    stowMessages(Stoppable.class);
+
+    journalInfo.journal.streamReader(getClass().getSimpleName())
+      .andThenTo(reader -> reader.streamFor(this.streamName, Math.toIntExact(version) + 1))
+      .andThenConsume(stream -> {
+        if (!stream.entries.isEmpty()) {
+          restoreSnapshot(stream.snapshot);
+          restoreFrom(journalInfo.entryAdapterProvider.asSources(stream.entries), stream.streamVersion);
+        }
+        disperseStowedMessages();
+      })
+      .otherwiseConsume(stream -> {
+        disperseStowedMessages();
+      })
+      .recoverFrom(cause -> {
+        disperseStowedMessages();
+        final String message = "Stream not recovered for: " + type() + "(" + this.streamName + ") because: " + cause.getMessage();
+        throw new StorageException(Result.Failure, message, cause);
+      });
+  }
+
   /**
    * Apply an individual {@code source} onto my concrete extender by means of
    * the {@code BiConsumer} of its registered {@code sourcedTypeMap}.
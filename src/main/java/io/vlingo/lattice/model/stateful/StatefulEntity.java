@@ -58,6 +58,10 @@ public abstract class StatefulEntity<S> extends EntityGridActor
   public void start() {
     super.start();
 
+    if (isRestoredFromRelocation()) {
+      return;
+    }
+
     final Tuple3<S,List<Source<String>>,String> newState = whenNewState();
 
     if (newState == null) {
@@ -305,6 +309,19 @@ public abstract class StatefulEntity<S> extends EntityGridActor
     return null;
   }
 
+  /**
+   * Answer my full current {@code state} to relocate with me when I am moved
+   * to another node of the grid, where it is restored by means of
+   * {@code state(final S state)} rather than read from my store.
+   * Must override, answering a serializable state, if relocation of state
+   * is to be supported.
+   * @return S
+   */
+  @Override
+  protected S relocationState() {
+    return null;
+  }
+
   /**
    * Restore my current state, dispatching to {@code state(final S state)} when completed.
    */
@@ -331,6 +348,32 @@ public abstract class StatefulEntity<S> extends EntityGridActor
   // FOR INTERNAL USE ONLY.
   //=====================================
 
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#relocationVersion()
+   */
+  @Override
+  protected final long relocationVersion() {
+    return currentVersion;
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreRelocated(java.lang.Object, long)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  protected final void restoreRelocated(final Object state, final long version) {
+    state((S) state);
+    currentVersion = Math.toIntExact(version);
+  }
+
+  /*
+   * @see io.vlingo.lattice.model.EntityGridActor#restoreAfter(long)
+   */
+  @Override
+  protected final void restoreAfter(final long version) {
+    restore(true);
+  }
+
   /*
    * @see io.vlingo.symbio.store.state.StateStore.ReadResultInterest#readResultedIn(io.vlingo.common.Outcome, java.lang.String, java.lang.Object, int, io.vlingo.symbio.Metadata, java.lang.Object)
    */
@@ -339,8 +382,11 @@ public abstract class StatefulEntity<S> extends EntityGridActor
   final public <ST> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final ST state, final int stateVersion, final Metadata metadata, final Object object) {
     outcome
       .andThen(result -> {
-        state((S) state);
-        currentVersion = stateVersion;
+        // the state relocated with me may be newer than the stored one
+        if (stateVersion >= currentVersion) {
+          state((S) state);
+          currentVersion = stateVersion;
+        }
         disperseStowedMessages();
         return result;
       })
@@ -1,18 +1,32 @@
 package io.vlingo.actors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
+import org.junit.After;
 import org.junit.Test;
 
 import io.vlingo.actors.plugin.mailbox.testkit.TestMailbox;
+import io.vlingo.actors.testkit.TestWorld;
+import io.vlingo.common.SerializableConsumer;
+import io.vlingo.lattice.grid.application.GridActorControl;
+import io.vlingo.lattice.grid.application.message.Answer;
 import io.vlingo.lattice.grid.cache.Cache;
 import io.vlingo.lattice.grid.cache.CacheNodePoint;
 import io.vlingo.lattice.grid.hashring.HashRing;
 import io.vlingo.lattice.grid.hashring.HashedNodePoint;
 import io.vlingo.lattice.grid.hashring.MD5ArrayHashRing;
 import io.vlingo.lattice.grid.hashring.MurmurArrayHashRing;
+import io.vlingo.lattice.grid.hashring.MurmurSortedMapHashRing;
 import io.vlingo.wire.node.Id;
 
 public class GridMailboxTest {
@@ -20,6 +34,11 @@ public class GridMailboxTest {
   final Cache cache = Cache.defaultCache();
   final BiFunction<Integer, Id, HashedNodePoint<Id>> factory =  (hash, node) -> new CacheNodePoint<Id>(cache, hash, node);
 
+  private final SerializableConsumer<Counter> count = Counter::count;
+  private final SerializableConsumer<Counter> increment = Counter::increment;
+
+  private TestWorld testWorld;
+
   @Test
   @SuppressWarnings("unused")
   public void testMurmurArrayHashRing() {
@@ -64,4 +83,164 @@ public class GridMailboxTest {
     System.out.println(gridMailbox.isPreallocated());
   }
 
+  @Test
+  public void testResolvesOwnerOncePerEpoch() {
+    final AtomicInteger resolutions = new AtomicInteger();
+    final HashRing<Id> hashRing = new MurmurSortedMapHashRing<Id>(100) {
+      @Override
+      public Id nodeOf(long high, long low) {
+        resolutions.incrementAndGet();
+        return super.nodeOf(high, low);
+      }
+    };
+
+    final Id localId = Id.of(1);
+    hashRing.includeNode(localId);
+
+    final GridMailbox gridMailbox = new GridMailbox(new TestMailbox(), localId, new GridAddress(UUID.randomUUID()), hashRing, null);
+
+    gridMailbox.isClosed();
+    gridMailbox.concurrencyCapacity();
+    gridMailbox.pendingMessages();
+    assertEquals(1, resolutions.get());
+
+    hashRing.includeNode(Id.of(2));
+
+    gridMailbox.isClosed();
+    gridMailbox.pendingMessages();
+    assertEquals(2, resolutions.get());
+  }
+
+  @Test
+  public void testReplicaServesReadOnlyCallsLocally() {
+    final RemoteOwned owned = new RemoteOwned();
+    owned.gridMailbox.replica(true);
+
+    owned.gridMailbox.send(owned.actor, Counter.class, count, null, "count()");
+
+    assertEquals(1, owned.local.pendingMessages());
+    assertTrue(owned.outbound.delivered.isEmpty());
+  }
+
+  @Test
+  public void testReplicaSendsWritingCallsToOwner() {
+    final RemoteOwned owned = new RemoteOwned();
+    owned.gridMailbox.replica(true);
+
+    owned.gridMailbox.send(owned.actor, Counter.class, increment, null, "increment()");
+
+    assertEquals(0, owned.local.pendingMessages());
+    assertEquals(1, owned.outbound.delivered.size());
+    assertEquals("increment()", owned.outbound.delivered.get(0));
+  }
+
+  @Test
+  public void testNonReplicaSendsReadOnlyCallsToOwner() {
+    final RemoteOwned owned = new RemoteOwned();
+
+    owned.gridMailbox.send(owned.actor, Counter.class, count, null, "count()");
+
+    assertEquals(0, owned.local.pendingMessages());
+    assertEquals(1, owned.outbound.delivered.size());
+    assertEquals("count()", owned.outbound.delivered.get(0));
+  }
+
+  @Test
+  public void testDroppedReplicaStopsLocallyAndSendsReadsToOwner() {
+    final RemoteOwned owned = new RemoteOwned();
+    owned.gridMailbox.replica(true);
+
+    owned.gridMailbox.dropReplica(owned.actor);
+
+    assertFalse(owned.gridMailbox.isReplica());
+    assertEquals(1, owned.local.pendingMessages());
+    assertTrue(owned.outbound.delivered.isEmpty());
+
+    owned.gridMailbox.dropReplica(owned.actor);
+    assertEquals(1, owned.local.pendingMessages());
+
+    owned.gridMailbox.send(owned.actor, Counter.class, count, null, "count()");
+    assertEquals(1, owned.local.pendingMessages());
+    assertEquals(1, owned.outbound.delivered.size());
+  }
+
+  @After
+  public void tearDown() {
+    if (testWorld != null) {
+      testWorld.terminate();
+    }
+  }
+
+  public static interface Counter {
+    @ReadOnly
+    void count();
+    void increment();
+  }
+
+  public static class CounterActor extends Actor implements Counter {
+    @Override
+    public void count() { }
+
+    @Override
+    public void increment() { }
+  }
+
+  // a grid mailbox of an actor that the node 2 owns, seen from the node 1
+  private class RemoteOwned {
+    final Id localId = Id.of(1);
+    final PriorityLaneMailbox local = new PriorityLaneMailbox(runnable -> {}, 10, 1);
+    final RecordingOutbound outbound = new RecordingOutbound();
+    final Actor actor;
+    final GridMailbox gridMailbox;
+
+    RemoteOwned() {
+      final HashRing<Id> hashRing = new MurmurSortedMapHashRing<>(100);
+      hashRing.includeNode(localId);
+      hashRing.includeNode(Id.of(2));
+
+      Address address = new GridAddress(UUID.randomUUID());
+      while (!Id.of(2).equals(hashRing.nodeOf(address))) {
+        address = new GridAddress(UUID.randomUUID());
+      }
+
+      testWorld = TestWorld.startWithDefaults("grid-mailbox-test");
+      actor = testWorld.actorFor(Counter.class, CounterActor.class).actorInside();
+      gridMailbox = new GridMailbox(local, localId, address, hashRing, outbound);
+    }
+  }
+
+  private static class RecordingOutbound implements GridActorControl.Outbound {
+    final List<String> delivered = new ArrayList<>();
+
+    @Override
+    public void start(Id recipient, Id sender, Class<?>[] protocols, Address address, Definition.SerializationProxy definitionProxy) { }
+
+    @Override
+    public <T> void deliver(Id recipient, Id sender, Returns<?> returns, Class<T> protocol, Address address,
+        Definition.SerializationProxy definitionProxy, SerializableConsumer<T> consumer, String representation) {
+      delivered.add(representation);
+    }
+
+    @Override
+    public <T> void answer(Id receiver, Id sender, Answer<T> answer) { }
+
+    @Override
+    public void forward(Id receiver, Id sender, io.vlingo.lattice.grid.application.message.Message message) { }
+
+    @Override
+    public void relocate(Id receiver, Id sender, Definition.SerializationProxy definitionProxy, Address address,
+        Object snapshot, List<? extends Message> pending) { }
+
+    @Override
+    public void leave(Id receiver, Id sender) { }
+
+    @Override
+    public void hint(Id receiver, Id sender, Map<Id, Integer> nodes) { }
+
+    @Override
+    public void credit(Id receiver, Id sender, int credits) { }
+
+    @Override
+    public void replicate(Id receiver, Id sender, Definition.SerializationProxy definitionProxy, Address address, Object snapshot) { }
+  }
 }
@@ -0,0 +1,65 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import io.vlingo.lattice.grid.hashring.HashRing;
+import io.vlingo.lattice.grid.hashring.MurmurSortedMapHashRing;
+import io.vlingo.wire.node.Id;
+
+public class MessageSamplerTest {
+
+  private final MessageSampler sampler = new MessageSampler();
+
+  @Test
+  public void testDrainEstimatesMessagesFromSamples() {
+    final Address hot = new GridAddress(UUID.randomUUID());
+    final Address cold = new GridAddress(UUID.randomUUID());
+    sampler.sample(hot);
+    sampler.sample(hot);
+    sampler.sample(cold);
+
+    final Map<Address, Long> drained = sampler.drain();
+
+    assertEquals(2L * MessageSampler.SampleInterval, (long) drained.get(hot));
+    assertEquals((long) MessageSampler.SampleInterval, (long) drained.get(cold));
+  }
+
+  @Test
+  public void testDrainStartsSamplingAnew() {
+    final Address address = new GridAddress(UUID.randomUUID());
+    sampler.sample(address);
+    sampler.drain();
+
+    assertTrue(sampler.drain().isEmpty());
+
+    sampler.sample(address);
+    assertEquals((long) MessageSampler.SampleInterval, (long) sampler.drain().get(address));
+  }
+
+  @Test
+  public void testGridMailboxSamplesOneOfEveryIntervalOfLocalSends() {
+    final Id localId = Id.of(1);
+    final HashRing<Id> hashRing = new MurmurSortedMapHashRing<>(100);
+    hashRing.includeNode(localId);
+    final Address address = new GridAddress(UUID.randomUUID());
+    final GridMailbox gridMailbox =
+        new GridMailbox(new PriorityLaneMailbox(runnable -> {}, 10, 1), localId, address, hashRing, null, sampler);
+
+    for (int send = 0; send < 3 * MessageSampler.SampleInterval; ++send) {
+      gridMailbox.send(message());
+    }
+
+    assertEquals(3L * MessageSampler.SampleInterval, (long) sampler.drain().get(address));
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static Message message() {
+    return new LocalMessage(null, Runnable.class, consumer -> {}, null, "run()");
+  }
+}
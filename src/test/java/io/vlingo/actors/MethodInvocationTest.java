@@ -0,0 +1,152 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import io.vlingo.common.SerializableConsumer;
+
+public class MethodInvocationTest {
+
+  @Test
+  public void testProxyLambdaBecomesInvocation() {
+    final SerializableConsumer<Greeter> consumer = Greeter__Proxy.sent(proxy -> proxy.greet("hello", 2));
+    final SerializableConsumer<?> invocation = MethodInvocation.of(Greeter.class, consumer, "greet(java.lang.String, int)");
+
+    assertTrue(invocation instanceof MethodInvocation);
+    assertEquals(Arrays.asList("hello", 2), Arrays.asList(((MethodInvocation) invocation).args));
+
+    final RecordingGreeter greeter = new RecordingGreeter();
+    ((MethodInvocation) invocation).accept(greeter);
+    assertEquals(Arrays.asList("hello", "hello"), greeter.greetings);
+  }
+
+  @Test
+  public void testOverloadResolvedByErasedParameterTypes() {
+    final SerializableConsumer<Greeter> consumer = Greeter__Proxy.sent(proxy -> proxy.greet(Arrays.asList("a", "b")));
+    final SerializableConsumer<?> invocation = MethodInvocation.of(Greeter.class, consumer, "greet(java.util.List<T>)");
+
+    assertTrue(invocation instanceof MethodInvocation);
+    final RecordingGreeter greeter = new RecordingGreeter();
+    ((MethodInvocation) invocation).accept(greeter);
+    assertEquals(Arrays.asList("a", "b"), greeter.greetings);
+  }
+
+  @Test
+  public void testOtherLambdasAreKept() {
+    final SerializableConsumer<Greeter> consumer = greeter -> greeter.greet("hello", 1);
+
+    assertSame(consumer, MethodInvocation.of(Greeter.class, consumer, "greet(java.lang.String, int)"));
+  }
+
+  @Test
+  public void testUnknownRepresentationIsKept() {
+    final SerializableConsumer<Greeter> consumer = Greeter__Proxy.sent(proxy -> proxy.greet("hello", 1));
+
+    assertSame(consumer, MethodInvocation.of(Greeter.class, consumer, "wave(java.lang.String, int)"));
+    assertSame(consumer, MethodInvocation.of(Greeter.class, consumer, "greet"));
+  }
+
+  @Test
+  public void testParametersOfTheSameTypeBindInOrder() {
+    final PairProxy proxy = new PairProxy();
+    proxy.put("key", "value");
+    final SerializableConsumer<?> invocation = MethodInvocation.of(Pair.class, proxy.sent, "put(java.lang.String, java.lang.String)");
+
+    assertTrue(invocation instanceof MethodInvocation);
+    assertEquals(Arrays.asList("key", "value"), Arrays.asList(((MethodInvocation) invocation).args));
+
+    final List<String> put = new ArrayList<>();
+    ((MethodInvocation) invocation).accept((Pair) (key, value) -> put.addAll(Arrays.asList(key, value)));
+    assertEquals(Arrays.asList("key", "value"), put);
+  }
+
+  @Test
+  public void testProxyLambdaNotCapturingItsArgumentsIsKept() {
+    final PairProxy proxy = new PairProxy();
+    proxy.putKey("key");
+
+    assertSame(proxy.sent, MethodInvocation.of(Pair.class, proxy.sent, "put(java.lang.String, java.lang.String)"));
+    // logged only once, and still kept
+    assertSame(proxy.sent, MethodInvocation.of(Pair.class, proxy.sent, "put(java.lang.String, java.lang.String)"));
+  }
+
+  @Test
+  public void testMethodIdsFollowSignatureOrder() {
+    assertEquals(0, MethodInvocation.methodIdOf(Greeter.class, "greet(java.lang.String, int)"));
+    assertEquals(1, MethodInvocation.methodIdOf(Greeter.class, "greet(java.util.List<T>)"));
+  }
+
+  @Test
+  public void testReadOnlyResolvedPerOverload() {
+    assertTrue(MethodInvocation.isReadOnly(Greeter.class, "greet(java.util.List<T>)"));
+    assertFalse(MethodInvocation.isReadOnly(Greeter.class, "greet(java.lang.String, int)"));
+    assertFalse(MethodInvocation.isReadOnly(Greeter.class, "greet"));
+  }
+
+  public interface Greeter {
+    void greet(String greeting, int times);
+    @ReadOnly <T> void greet(List<T> greetings);
+  }
+
+  static final class Greeter__Proxy implements Greeter {
+    SerializableConsumer<Greeter> sent;
+
+    static SerializableConsumer<Greeter> sent(final Consumer<Greeter> call) {
+      final Greeter__Proxy proxy = new Greeter__Proxy();
+      call.accept(proxy);
+      return proxy.sent;
+    }
+
+    @Override
+    public void greet(final String greeting, final int times) {
+      sent = actor -> actor.greet(greeting, times);
+    }
+
+    @Override
+    public <T> void greet(final List<T> greetings) {
+      sent = actor -> actor.greet(greetings);
+    }
+  }
+
+  public interface Pair {
+    void put(String key, String value);
+  }
+
+  static final class PairProxy implements Pair {
+    SerializableConsumer<Pair> sent;
+
+    @Override
+    public void put(final String key, final String value) {
+      sent = actor -> actor.put(key, value);
+    }
+
+    void putKey(final String key) {
+      sent = actor -> actor.put(key, "");
+    }
+  }
+
+  static final class RecordingGreeter implements Greeter {
+    final List<String> greetings = new ArrayList<>();
+
+    @Override
+    public void greet(final String greeting, final int times) {
+      for (int count = 0; count < times; ++count) {
+        greetings.add(greeting);
+      }
+    }
+
+    @Override
+    public <T> void greet(final List<T> greetings) {
+      greetings.forEach(greeting -> this.greetings.add(String.valueOf(greeting)));
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PriorityLaneMailboxTest {
+
+  private final List<Runnable> dispatched = new ArrayList<>();
+  private final PriorityLaneMailbox mailbox = new PriorityLaneMailbox(dispatched::add, 10, 1);
+
+  @Test
+  public void testControlMessagesAreReceivedFirst() {
+    final Message first = message(Runnable.class);
+    final Message second = message(Runnable.class);
+    final Message snapshot = message(RelocationSnapshotConsumer.class);
+    mailbox.send(first);
+    mailbox.send(second);
+    mailbox.send(snapshot);
+
+    assertEquals(3, mailbox.pendingMessages());
+    assertSame(snapshot, mailbox.receive());
+    assertSame(first, mailbox.receive());
+    assertSame(second, mailbox.receive());
+    assertNull(mailbox.receive());
+  }
+
+  @Test
+  public void testStopIsReceivedAfterEarlierMessages() {
+    final Message sent = message(Runnable.class);
+    final Message stop = message(Stoppable.class);
+    mailbox.send(sent);
+    mailbox.send(stop);
+
+    assertSame(sent, mailbox.receive());
+    assertSame(stop, mailbox.receive());
+    assertNull(mailbox.receive());
+  }
+
+  @Test
+  public void testDispatchesOnceWhileDelivering() {
+    mailbox.send(message(Runnable.class));
+    mailbox.send(message(Runnable.class));
+    mailbox.send(message(Stoppable.class));
+
+    assertEquals(1, dispatched.size());
+    assertTrue(mailbox.isDelivering());
+  }
+
+  @Test
+  public void testSuspendedMailboxDispatchesOnlyOverrides() {
+    mailbox.suspendExceptFor(GridActor.Resume, RelocationSnapshotConsumer.class);
+    mailbox.send(message(Runnable.class));
+    mailbox.send(message(Stoppable.class));
+    assertEquals(0, dispatched.size());
+
+    mailbox.send(message(RelocationSnapshotConsumer.class));
+    assertEquals(1, dispatched.size());
+    assertEquals(3, mailbox.pendingMessages());
+  }
+
+  @Test
+  public void testSuspensionsStackByName() {
+    mailbox.suspendExceptFor("one", Stoppable.class);
+    mailbox.suspendExceptFor("two", Stoppable.class);
+    assertTrue(mailbox.isSuspendedFor("one"));
+    assertTrue(mailbox.isSuspendedFor("two"));
+
+    mailbox.resume("one");
+    assertFalse(mailbox.isSuspendedFor("one"));
+    assertTrue(mailbox.isSuspended());
+
+    mailbox.resume("two");
+    assertFalse(mailbox.isSuspended());
+  }
+
+  @Test
+  public void testClosedMailboxDropsMessages() {
+    mailbox.send(message(Runnable.class));
+    mailbox.close();
+    mailbox.send(message(Runnable.class));
+
+    assertTrue(mailbox.isClosed());
+    assertEquals(0, mailbox.pendingMessages());
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static Message message(final Class<?> protocol) {
+    return new LocalMessage(null, protocol, consumer -> {}, null, protocol.getSimpleName());
+  }
+}
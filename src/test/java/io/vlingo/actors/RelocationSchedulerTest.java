@@ -0,0 +1,161 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vlingo.common.Scheduler;
+
+public class RelocationSchedulerTest {
+
+  private static final long NeverTicks = 60_000L;
+  private static final long BytesPerActor = 100L;
+
+  private final List<Address> relocated = Collections.synchronizedList(new ArrayList<>());
+  private final Scheduler scheduler = new Scheduler();
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final AtomicLong now = new AtomicLong();
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+    scheduler.close();
+  }
+
+  @Test
+  public void testRelocatesInBatches() {
+    final RelocationScheduler relocations = scheduler(2, 1, 0);
+
+    relocations.schedule(Arrays.asList(address(), address(), address(), address(), address()));
+    assertEquals(5, relocations.scheduled());
+    assertEquals(5, relocations.remaining());
+
+    relocations.intervalSignal(null, null);
+    assertEquals(2, relocated.size());
+    assertEquals(3, relocations.remaining());
+
+    relocations.intervalSignal(null, null);
+    relocations.intervalSignal(null, null);
+    assertEquals(5, relocated.size());
+    assertEquals(5, relocations.relocated());
+    assertEquals(0, relocations.remaining());
+  }
+
+  @Test
+  public void testCountsOnlyRelocatedActors() {
+    final Address stays = address();
+    final RelocationScheduler relocations =
+        new RelocationScheduler(batch -> new RelocationScheduler.Relocated(batch.contains(stays) ? batch.size() - 1 : batch.size(), 0),
+            scheduler, executor, Logger.basicLogger(), 10, NeverTicks, 1, 0, NeverTicks, now::get);
+
+    relocations.schedule(Arrays.asList(address(), stays, address()));
+    relocations.intervalSignal(null, null);
+
+    assertEquals(3, relocations.scheduled());
+    assertEquals(2, relocations.relocated());
+    assertEquals(0, relocations.remaining());
+  }
+
+  @Test
+  public void testRelocatesConcurrentBatches() {
+    final RelocationScheduler relocations = scheduler(2, 2, 0);
+
+    relocations.schedule(Arrays.asList(address(), address(), address(), address(), address()));
+    relocations.intervalSignal(null, null);
+    assertEquals(4, relocated.size());
+    assertEquals(4, relocations.relocated());
+    assertEquals(1, relocations.remaining());
+  }
+
+  @Test
+  public void testSkipsIntervalsOnceBudgetIsSpent() {
+    final RelocationScheduler relocations = scheduler(3, 1, BytesPerActor);
+
+    relocations.schedule(Arrays.asList(address(), address(), address(), address()));
+    relocations.intervalSignal(null, null);
+    assertEquals(3, relocated.size());
+
+    // the batch spent the budget of three intervals
+    relocations.intervalSignal(null, null);
+    relocations.intervalSignal(null, null);
+    assertEquals(3, relocated.size());
+    relocations.intervalSignal(null, null);
+    assertEquals(4, relocated.size());
+    assertEquals(0, relocations.remaining());
+  }
+
+  @Test
+  public void testRelocatesOverdueActorsRegardlessOfPace() {
+    final RelocationScheduler relocations =
+        new RelocationScheduler(this::relocate, scheduler, executor, Logger.basicLogger(), 1, NeverTicks, 1, 0, 1_000L, now::get);
+
+    relocations.schedule(Arrays.asList(address(), address()));
+    now.addAndGet(500L);
+    relocations.schedule(Arrays.asList(address(), address()));
+    now.addAndGet(500L);
+
+    relocations.intervalSignal(null, null);
+    assertEquals(2, relocated.size());
+    assertEquals(2, relocations.remaining());
+
+    now.addAndGet(500L);
+    relocations.intervalSignal(null, null);
+    assertEquals(4, relocated.size());
+    assertEquals(0, relocations.remaining());
+  }
+
+  @Test
+  public void testAppliesChangesBeforeRelocating() {
+    final RelocationScheduler relocations = scheduler(10, 1, 0);
+    final Address moving = address();
+    final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    relocations.change(() -> {
+      order.add("change");
+      relocations.schedule(Collections.singletonList(moving));
+    });
+    assertTrue(relocated.isEmpty());
+
+    relocations.intervalSignal(null, null);
+    order.add("relocated");
+    assertEquals(Arrays.asList("change", "relocated"), order);
+    assertEquals(Collections.singletonList(moving), relocated);
+  }
+
+  @Test
+  public void testRelocatesNowRegardlessOfPace() {
+    final RelocationScheduler relocations = scheduler(2, 1, BytesPerActor);
+
+    final RelocationScheduler.Relocated drained =
+        relocations.relocateNow(Arrays.asList(address(), address(), address(), address(), address()));
+    assertEquals(5, drained.actors);
+    assertEquals(5 * BytesPerActor, drained.bytes);
+    assertEquals(5, relocated.size());
+    assertEquals(0, relocations.scheduled());
+  }
+
+  private RelocationScheduler scheduler(final int batchSize, final int concurrency, final long bytesPerInterval) {
+    return new RelocationScheduler(this::relocate, scheduler, executor, Logger.basicLogger(),
+        batchSize, NeverTicks, concurrency, bytesPerInterval, NeverTicks, now::get);
+  }
+
+  private RelocationScheduler.Relocated relocate(final List<Address> batch) {
+    relocated.addAll(batch);
+    return new RelocationScheduler.Relocated(batch.size(), batch.size() * BytesPerActor);
+  }
+
+  private static Address address() {
+    return new GridAddress(UUID.randomUUID());
+  }
+}
@@ -0,0 +1,60 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import io.vlingo.wire.node.Id;
+
+public class ReplicaHoldersTest {
+
+  private final List<Id> nodes = Arrays.asList(Id.of(1), Id.of(2), Id.of(3), Id.of(4), Id.of(5));
+
+  @Test
+  public void testSelectsBoundedHoldersOtherThanOwner() {
+    for (int count = 0; count < 100; ++count) {
+      final List<Id> holders = ReplicaHolders.of(new GridAddress(UUID.randomUUID()), Id.of(1), nodes, 2);
+
+      assertEquals(2, holders.size());
+      assertFalse(holders.contains(Id.of(1)));
+      assertFalse(holders.get(0).equals(holders.get(1)));
+    }
+  }
+
+  @Test
+  public void testSelectsSameHoldersInAnyOrderOfNodes() {
+    final Address address = new GridAddress(UUID.randomUUID());
+    final List<Id> reversed = new ArrayList<>(nodes);
+    Collections.reverse(reversed);
+
+    assertEquals(ReplicaHolders.of(address, Id.of(3), nodes, 2), ReplicaHolders.of(address, Id.of(3), reversed, 2));
+  }
+
+  @Test
+  public void testSpreadsHoldersOverNodes() {
+    final int[] held = new int[6];
+    for (int count = 0; count < 1_000; ++count) {
+      ReplicaHolders.of(new GridAddress(UUID.randomUUID()), Id.of(1), nodes, 1)
+          .forEach(holder -> ++held[holder.value()]);
+    }
+
+    for (int node = 2; node <= 5; ++node) {
+      assertTrue(held[node] > 150);
+    }
+  }
+
+  @Test
+  public void testSelectsNoHoldersOfNoReplicas() {
+    assertTrue(ReplicaHolders.of(new GridAddress(UUID.randomUUID()), Id.of(1), nodes, 0).isEmpty());
+    assertEquals(Collections.singletonList(Id.of(2)),
+        ReplicaHolders.of(new GridAddress(UUID.randomUUID()), Id.of(1), Arrays.asList(Id.of(1), Id.of(2)), 2));
+  }
+}
@@ -0,0 +1,51 @@
+package io.vlingo.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class StartedAddressesTest {
+
+  @Test
+  public void testKnownAddressIsNotStartedAgain() {
+    final StartedAddresses started = new StartedAddresses(10);
+    final Address address = address();
+
+    assertTrue(started.add(address, 1));
+    assertFalse(started.add(address, 1));
+  }
+
+  @Test
+  public void testRingChangeForgetsAllAddresses() {
+    final StartedAddresses started = new StartedAddresses(10);
+    final Address address = address();
+    started.add(address, 1);
+    started.add(address(), 1);
+
+    assertTrue(started.add(address, 2));
+    assertEquals(1, started.size());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    final StartedAddresses started = new StartedAddresses(2);
+    final Address first = address();
+    final Address second = address();
+    started.add(first, 1);
+    started.add(second, 1);
+    started.add(first, 1);
+
+    started.add(address(), 1);
+    assertEquals(2, started.size());
+    assertFalse(started.add(first, 1));
+    assertTrue(started.add(second, 1));
+  }
+
+  private static Address address() {
+    return new GridAddress(UUID.randomUUID());
+  }
+}
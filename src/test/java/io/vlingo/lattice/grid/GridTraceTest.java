@@ -0,0 +1,32 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class GridTraceTest {
+
+  @Test
+  public void testSamplingIsPerGrid() {
+    final GridTrace.Sampling one = GridTrace.Sampling.of(Collections.singletonMap(String.class, 2));
+    final GridTrace.Sampling other = GridTrace.Sampling.of(Collections.emptyMap());
+
+    assertTrue(one.isSampled(String.class));
+    assertFalse(one.isSampled(String.class));
+    assertTrue(one.isSampled(String.class));
+
+    assertTrue(other.isSampled(String.class));
+    assertTrue(other.isSampled(String.class));
+    assertTrue(one.isSampled(Integer.class));
+  }
+}
@@ -0,0 +1,210 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.Address;
+import io.vlingo.actors.AddressFactory;
+import io.vlingo.actors.GridAddressFactory;
+import io.vlingo.actors.GridRuntime;
+import io.vlingo.actors.Logger;
+import io.vlingo.cluster.model.attribute.Attribute;
+import io.vlingo.cluster.model.attribute.AttributesProtocol;
+import io.vlingo.common.identity.IdentityGeneratorType;
+import io.vlingo.lattice.grid.application.OutboundGridActorControl;
+import io.vlingo.lattice.grid.hashring.HashRing;
+import io.vlingo.lattice.grid.hashring.MurmurSortedMapHashRing;
+import io.vlingo.lattice.grid.hashring.PlacementHashRing;
+import io.vlingo.wire.node.Id;
+
+public class PlacementBalancerTest {
+
+  private static final AddressFactory Addresses = new GridAddressFactory(IdentityGeneratorType.RANDOM);
+  private static final Id LocalNode = Id.of(1);
+  private static final Id OtherNode = Id.of(2);
+  private static final long HotActorRate = 100;
+
+  private final Map<String, Map<String, Object>> attributes = new HashMap<>();
+  private final PlacementHashRing<Id> ring = new PlacementHashRing<>(new MurmurSortedMapHashRing<>(100));
+  private Map<Address, Long> samples = new HashMap<>();
+  private PlacementBalancer balancer;
+
+  @Test
+  public void testPlacesHotActorOnLeastLoadedNode() {
+    final Address hottest = addressOf(LocalNode);
+    final Address hot = addressOf(LocalNode);
+    balancer.nodeLoaded(OtherNode, 0);
+    samples.put(hottest, 600L);
+    samples.put(hot, 400L);
+
+    balancer.intervalSignal(null, null);
+
+    assertEquals(OtherNode, ring.nodeOf(hottest));
+    assertEquals(OtherNode.valueString(), attributes.get(GridNode.Placements).get(hottest.idString()));
+    // placing it too would not leave the other node less loaded than this one
+    assertEquals(LocalNode, ring.nodeOf(hot));
+    assertEquals("1000", attributes.get(GridNode.NodeLoads).get(LocalNode.valueString()));
+  }
+
+  @Test
+  public void testDoesNotPlaceWhileLoadIsEven() {
+    final Address hot = addressOf(LocalNode);
+    balancer.nodeLoaded(OtherNode, 1_000);
+    samples.put(hot, 1_000L);
+
+    balancer.intervalSignal(null, null);
+
+    assertEquals(LocalNode, ring.nodeOf(hot));
+    assertTrue(ring.placements().isEmpty());
+    assertNull(attributes.get(GridNode.Placements));
+  }
+
+  @Test
+  public void testDoesNotPlaceBeyondMaximumPlacements() {
+    for (int placement = 0; placement < 1024; ++placement) {
+      ring.place(addressOf(OtherNode), OtherNode);
+    }
+    final Address hottest = addressOf(LocalNode);
+    balancer.nodeLoaded(OtherNode, 0);
+    samples.put(hottest, 600L);
+    samples.put(addressOf(LocalNode), 400L);
+
+    balancer.intervalSignal(null, null);
+
+    assertEquals(LocalNode, ring.nodeOf(hottest));
+    assertEquals(1024, ring.placements().size());
+  }
+
+  @Test
+  public void testExpiresPlacementOfColdActor() {
+    final Address placed = placedOnLocalNode();
+
+    balancer.intervalSignal(null, null);
+    assertEquals(LocalNode, ring.nodeOf(placed));
+
+    balancer.intervalSignal(null, null);
+    assertEquals(OtherNode, ring.nodeOf(placed));
+    assertTrue(ring.placements().isEmpty());
+    assertFalse(attributes.get(GridNode.Placements).containsKey(placed.idString()));
+  }
+
+  @Test
+  public void testKeepsPlacementOfWarmActor() {
+    final Address placed = placedOnLocalNode();
+
+    for (int round = 0; round < 4; ++round) {
+      samples.put(placed, HotActorRate / 2);
+      balancer.intervalSignal(null, null);
+    }
+
+    assertEquals(LocalNode, ring.nodeOf(placed));
+    assertEquals(LocalNode.valueString(), attributes.get(GridNode.Placements).get(placed.idString()));
+  }
+
+  @Test
+  public void testColdRoundsMustBeConsecutive() {
+    final Address placed = placedOnLocalNode();
+
+    balancer.intervalSignal(null, null);
+    samples.put(placed, HotActorRate);
+    balancer.intervalSignal(null, null);
+    balancer.intervalSignal(null, null);
+
+    assertEquals(LocalNode, ring.nodeOf(placed));
+  }
+
+  @Test
+  public void testLeavesPlacementOnOtherNode() {
+    final Address placed = addressOf(LocalNode);
+    ring.place(placed, OtherNode);
+
+    balancer.intervalSignal(null, null);
+    balancer.intervalSignal(null, null);
+
+    assertEquals(OtherNode, ring.nodeOf(placed));
+  }
+
+  @Before
+  public void setUp() {
+    ring.includeNode(LocalNode);
+    ring.includeNode(OtherNode);
+
+    balancer = new PlacementBalancer(LocalNode, new TestGrid(), this::drain, Logger.basicLogger(), HotActorRate, 1_000);
+    balancer.client((AttributesProtocol) Proxy.newProxyInstance(
+        AttributesProtocol.class.getClassLoader(), new Class<?>[] { AttributesProtocol.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+          case "add":
+          case "replace":
+            attributes.computeIfAbsent((String) args[0], set -> new HashMap<>()).put((String) args[1], args[2]);
+            return null;
+          case "remove":
+            attributes.getOrDefault(args[0], Collections.emptyMap()).remove(args[1]);
+            return null;
+          case "attribute":
+            final Object value = attributes.getOrDefault(args[0], Collections.emptyMap()).get(args[1]);
+            return value == null ? null : Attribute.from((String) args[1], value);
+          default:
+            throw new UnsupportedOperationException(method.getName());
+          }
+        }));
+  }
+
+  private Map<Address, Long> drain() {
+    final Map<Address, Long> drained = samples;
+    samples = new HashMap<>();
+    return drained;
+  }
+
+  private Address addressOf(final Id node) {
+    Address address = Addresses.unique();
+    while (!node.equals(ring.nodeOf(address))) {
+      address = Addresses.unique();
+    }
+    return address;
+  }
+
+  // placed by the other node on this one, and advertised as such
+  private Address placedOnLocalNode() {
+    final Address placed = addressOf(OtherNode);
+    ring.place(placed, LocalNode);
+    attributes.computeIfAbsent(GridNode.Placements, set -> new HashMap<>()).put(placed.idString(), LocalNode.valueString());
+    return placed;
+  }
+
+  private class TestGrid implements GridRuntime {
+    @Override public Actor actorAt(final Address address) { return null; }
+    @Override public void credited(final Id node, final int credits) { }
+    @Override public GridNodeBootstrap gridNodeBootstrap() { return null; }
+    @Override public HashRing<Id> hashRing() { return ring; }
+    @Override public void nodeJoined(final Id newNode) { }
+    @Override public void nodeLeft(final Id node) { }
+    @Override public void nodeWeighted(final Id node, final int weight) { }
+    @Override public void nodesHinted(final Id sender, final Map<Id, Integer> nodes) { }
+    @Override public void nodesLive(final Collection<Id> nodes) { }
+    @Override public void place(final Address address, final Id node) { ring.place(address, node); }
+    @Override public Map<Address, Id> placements() { return ring.placements(); }
+    @Override public void unplace(final Address address) { ring.unplace(address); }
+    @Override public void setNodeId(final Id nodeId) { }
+    @Override public void setOutbound(final OutboundGridActorControl outbound) { }
+  }
+}
@@ -0,0 +1,123 @@
+package io.vlingo.lattice.grid.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vlingo.actors.Returns;
+import io.vlingo.common.Scheduler;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.wire.node.Id;
+
+public class CorrelationRegistryTest {
+
+  private static final long NeverTicks = 60_000L;
+
+  private final Scheduler scheduler = new Scheduler();
+  private final CorrelationRegistry registry = new CorrelationRegistry(Id.of(1), scheduler, NeverTicks, NeverTicks);
+
+  @After
+  public void tearDown() {
+    registry.close();
+    scheduler.close();
+  }
+
+  @Test
+  public void testAnsweredBeforeTimeout() {
+    final Returns<CompletableFuture<Object>> returns = Returns.value(new CompletableFuture<>());
+
+    final CorrelationId correlationId = registry.correlate(returns);
+    assertEquals(1, correlationId.nodeId());
+    assertEquals(1, registry.inFlight());
+
+    assertSame(returns, registry.remove(correlationId));
+    assertEquals(0, registry.inFlight());
+    assertEquals(0, registry.scheduled());
+
+    registry.intervalSignal(null, null);
+    assertEquals(0, registry.expired());
+  }
+
+  @Test
+  public void testExpiresUnanswered() {
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    final CorrelationId correlationId = registry.correlate(Returns.value(future));
+    registry.intervalSignal(null, null);
+
+    assertTrue(future.isCompletedExceptionally());
+    assertEquals(0, registry.inFlight());
+    assertEquals(1, registry.expired());
+
+    assertNull(registry.remove(correlationId));
+    assertEquals(1, registry.late());
+  }
+
+  @Test
+  public void testExpiredFutureIsCancelled() {
+    final FutureTask<Object> future = new FutureTask<>(() -> null);
+
+    registry.correlate(Returns.value(future));
+    registry.intervalSignal(null, null);
+
+    assertTrue(future.isCancelled());
+    assertEquals(1, registry.expired());
+  }
+
+  @Test
+  public void testCorrelatesBeyondCapacity() {
+    final Scheduler scheduler = new Scheduler();
+    final CorrelationRegistry registry = new CorrelationRegistry(Id.of(1), scheduler, NeverTicks, NeverTicks, 2);
+    final Returns<CompletableFuture<Object>> first = Returns.value(new CompletableFuture<>());
+    final Returns<CompletableFuture<Object>> second = Returns.value(new CompletableFuture<>());
+    final Returns<CompletableFuture<Object>> third = Returns.value(new CompletableFuture<>());
+
+    final CorrelationId firstId = registry.correlate(first);
+    final CorrelationId secondId = registry.correlate(second);
+    final CorrelationId thirdId = registry.correlate(third);
+
+    assertSame(third, registry.remove(thirdId));
+    assertSame(first, registry.remove(firstId));
+    assertSame(second, registry.remove(secondId));
+    assertEquals(0, registry.inFlight());
+
+    registry.close();
+    scheduler.close();
+  }
+
+  @Test
+  public void testIgnoresOtherOrigin() {
+    final Returns<CompletableFuture<Object>> returns = Returns.value(new CompletableFuture<>());
+    final CorrelationId correlationId = registry.correlate(returns);
+
+    assertNull(registry.remove(new CorrelationId(correlationId.origin + 1, correlationId.sequence)));
+    assertEquals(1, registry.late());
+    assertSame(returns, registry.remove(correlationId));
+  }
+
+  @Test
+  public void testExpiresOnlyAfterTimeout() {
+    final Scheduler scheduler = new Scheduler();
+    final CorrelationRegistry registry = new CorrelationRegistry(Id.of(1), scheduler, NeverTicks * 2, NeverTicks);
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    registry.correlate(Returns.value(future));
+
+    registry.intervalSignal(null, null);
+    assertFalse(future.isDone());
+
+    registry.intervalSignal(null, null);
+    assertTrue(future.isCompletedExceptionally());
+
+    registry.close();
+    scheduler.close();
+  }
+}
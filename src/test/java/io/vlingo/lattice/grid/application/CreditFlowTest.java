@@ -0,0 +1,150 @@
+package io.vlingo.lattice.grid.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.lattice.grid.application.message.Leave;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.wire.node.Id;
+
+public class CreditFlowTest {
+
+  private static final Id node = Id.of(2);
+
+  private final List<Message> sent = new ArrayList<>();
+  private final List<Integer> granted = new ArrayList<>();
+  private long now = 0;
+  private final CreditFlow flow = new CreditFlow((recipient, message) -> sent.add(message), (sender, credits) -> granted.add(credits), 4, 2, 100, () -> now);
+
+  @Test
+  public void testHoldsAndShedsBeyondWindow() {
+    for (int count = 0; count < 8; ++count) {
+      flow.send(node, new Leave());
+    }
+
+    assertEquals(4, sent.size());
+    final CreditMetrics metrics = flow.metrics().get(node);
+    assertEquals(0, metrics.credits());
+    assertEquals(2, metrics.buffered());
+    assertEquals(2, metrics.shed());
+  }
+
+  @Test
+  public void testCreditSendsHeldMessagesInOrder() {
+    final List<Message> messages = new ArrayList<>();
+    for (int count = 0; count < 6; ++count) {
+      final Message message = new Leave();
+      messages.add(message);
+      flow.send(node, message);
+    }
+
+    flow.credited(node, 2);
+    assertEquals(messages, sent);
+    assertEquals(0, flow.metrics().get(node).buffered());
+  }
+
+  @Test
+  public void testGrantsHalfWindowAsConsumed() {
+    flow.consumed(node);
+    assertTrue(granted.isEmpty());
+
+    flow.consumed(node);
+    flow.consumed(node);
+    flow.consumed(node);
+    assertEquals(2, granted.size());
+    assertEquals(2, (int) granted.get(0));
+  }
+
+  @Test
+  public void testResetRestoresWindow() {
+    for (int count = 0; count < 6; ++count) {
+      flow.send(node, new Leave());
+    }
+
+    flow.reset(node, false);
+    final CreditMetrics metrics = flow.metrics().get(node);
+    assertEquals(4, metrics.credits());
+    assertEquals(0, metrics.buffered());
+    assertEquals(2, metrics.shed());
+  }
+
+  @Test
+  public void testResyncRestoresStalledWindow() {
+    for (int count = 0; count < 6; ++count) {
+      flow.send(node, new Leave());
+    }
+
+    now = 99;
+    flow.resync();
+    assertEquals(4, sent.size());
+
+    now = 100;
+    flow.resync();
+    assertEquals(6, sent.size());
+    assertEquals(2, flow.metrics().get(node).credits());
+  }
+
+  @Test
+  public void testCreditDefersResync() {
+    for (int count = 0; count < 6; ++count) {
+      flow.send(node, new Leave());
+    }
+
+    now = 80;
+    flow.credited(node, 1);
+    now = 150;
+    flow.resync();
+    assertEquals(5, sent.size());
+  }
+
+  @Test
+  public void testSendsReleasedMessagesWithoutHoldingWindow() {
+    final List<Message> resent = new ArrayList<>();
+    final CreditFlow[] reentrant = new CreditFlow[1];
+    reentrant[0] = new CreditFlow((recipient, message) -> {
+      resent.add(message);
+      if (resent.size() == 1) {
+        reentrant[0].send(recipient, new Leave());
+      }
+    }, (sender, credits) -> { }, 4, 2, 100, () -> now);
+
+    final Message first = new Leave();
+    reentrant[0].send(node, first);
+
+    assertEquals(2, resent.size());
+    assertEquals(first, resent.get(0));
+  }
+
+  @Test
+  public void testCreditingConsumerGrantsOnceRun() {
+    final List<String> ran = new ArrayList<>();
+    final CreditingConsumer<String> consumer = new CreditingConsumer<>(ran::add, () -> flow.consumed(node));
+
+    consumer.accept("first");
+    flow.consumed(node);
+    assertEquals(1, granted.size());
+
+    consumer.accept("again");
+    flow.consumed(node);
+    assertEquals(1, granted.size());
+    assertEquals(2, ran.size());
+  }
+
+  @Test
+  public void testReleasedConsumerGrantsWithoutRunning() {
+    final List<String> ran = new ArrayList<>();
+    final CreditingConsumer<String> consumer = new CreditingConsumer<>(ran::add, () -> flow.consumed(node));
+
+    assertSame(consumer.consumer, CreditingConsumer.released(consumer));
+    flow.consumed(node);
+
+    assertTrue(ran.isEmpty());
+    assertEquals(1, granted.size());
+  }
+}
@@ -16,8 +16,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -35,11 +37,15 @@ public class GridApplicationMessageHandlerTest {
   private CountDownLatch answerLatch = new CountDownLatch(1);
   private CountDownLatch forwardLatch = new CountDownLatch(1);
   private CountDownLatch relocateLatch = new CountDownLatch(1);
+  private CountDownLatch leaveLatch = new CountDownLatch(1);
+  private CountDownLatch replicateLatch = new CountDownLatch(1);
+  private CountDownLatch hintLatch = new CountDownLatch(1);
+  private CountDownLatch creditLatch = new CountDownLatch(1);
 
   private final GridApplicationMessageHandler handler =
       new GridApplicationMessageHandler(localNodeId, new MurmurSortedMapHashRing<Id>(100), new GridActorControl.Inbound() {
         @Override
-        public <T> void start(Id receiver, Id sender, Class<T> protocol, Address address, Definition.SerializationProxy definition) {
+        public void start(Id receiver, Id sender, Class<?>[] protocols, Address address, Definition.SerializationProxy definition) {
           startLatch.countDown();
         }
 
@@ -66,6 +72,26 @@ public class GridApplicationMessageHandlerTest {
         public void relocate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot, List<? extends io.vlingo.actors.Message> pending) {
           relocateLatch.countDown();
         }
+
+        @Override
+        public void leave(Id receiver, Id sender) {
+          leaveLatch.countDown();
+        }
+
+        @Override
+        public void hint(Id receiver, Id sender, Map<Id, Integer> nodes) {
+          hintLatch.countDown();
+        }
+
+        @Override
+        public void credit(Id receiver, Id sender, int credits) {
+          creditLatch.countDown();
+        }
+
+        @Override
+        public void replicate(Id receiver, Id sender, Definition.SerializationProxy definition, Address address, Object snapshot) {
+          replicateLatch.countDown();
+        }
       }, null);
 
 
@@ -94,6 +120,42 @@ public class GridApplicationMessageHandlerTest {
     test(from(new Relocate(address, null, null, Collections.emptyList())), relocateLatch);
   }
 
+  @Test
+  public void testRelocateBatch() throws IOException, InterruptedException {
+    relocateLatch = new CountDownLatch(2);
+    test(from(new RelocateBatch(Arrays.asList(
+        new Relocate(address, null, null, Collections.emptyList()),
+        new Relocate(address, null, null, Collections.emptyList())))), relocateLatch);
+  }
+
+  @Test
+  public void testLeave() throws IOException, InterruptedException {
+    test(from(new Leave()), leaveLatch);
+  }
+
+  @Test
+  public void testReplicate() throws IOException, InterruptedException {
+    test(from(new Replicate(address, null, null)), replicateLatch);
+  }
+
+  @Test
+  public void testRingHint() throws IOException, InterruptedException {
+    test(from(new RingHint(Collections.singletonMap(originalSenderNodeId, 1))), hintLatch);
+  }
+
+  @Test
+  public void testCredit() throws IOException, InterruptedException {
+    test(from(new Credit(16)), creditLatch);
+  }
+
+  @Test
+  public void testBatch() throws IOException, InterruptedException {
+    test(from(new Batch(Arrays.asList(
+        new Start<>(null, address, null),
+        new Deliver<>(null, address, null, (something) -> {}, null)))), startLatch);
+    assertTrue("Didn't handle batched Deliver", deliverLatch.await(1, TimeUnit.MILLISECONDS));
+  }
+
 
 
   private void test(RawMessage message, CountDownLatch latch) throws InterruptedException {
@@ -0,0 +1,66 @@
+package io.vlingo.lattice.grid.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vlingo.actors.Logger;
+import io.vlingo.lattice.grid.application.message.Credit;
+import io.vlingo.wire.node.Id;
+
+public class InboundDecodingTest {
+
+  private static final int Frames = 1_000;
+
+  private final List<Integer> dispatched = Collections.synchronizedList(new ArrayList<>());
+  private final CountDownLatch dispatchedLatch = new CountDownLatch(Frames - 1);
+
+  private final InboundDecoding decoding = new InboundDecoding(
+      bytes -> {
+        // decodes take random time, so that they complete out of order
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(50_000));
+        final int value = ByteBuffer.wrap(bytes).getInt();
+        if (value == Frames / 2) {
+          throw new IllegalArgumentException("decode failed");
+        }
+        return new Credit(value);
+      },
+      frame -> {
+        dispatched.add(((Credit) frame.message).credits);
+        dispatchedLatch.countDown();
+      },
+      4, 16, Logger.basicLogger());
+
+  @After
+  public void tearDown() {
+    decoding.close();
+  }
+
+  @Test
+  public void testDispatchesInReceivedOrderSkippingFailures() throws InterruptedException {
+    for (int value = 0; value < Frames; ++value) {
+      decoding.decode(Id.of(1), RingMembership.NoVersion, ByteBuffer.allocate(4).putInt(0, value).array());
+    }
+
+    assertTrue(dispatchedLatch.await(10, TimeUnit.SECONDS));
+    final List<Integer> expected = new ArrayList<>();
+    for (int value = 0; value < Frames; ++value) {
+      if (value != Frames / 2) {
+        expected.add(value);
+      }
+    }
+    assertEquals(expected, new ArrayList<>(dispatched));
+    assertEquals(1, decoding.failedDecodes());
+  }
+}
@@ -0,0 +1,301 @@
+package io.vlingo.lattice.grid.application.message.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.nustaq.serialization.FSTConfiguration;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.GridAddressFactory;
+import io.vlingo.actors.MethodInvocation;
+import io.vlingo.common.SerializableConsumer;
+import io.vlingo.common.identity.IdentityGeneratorType;
+import io.vlingo.lattice.grid.application.message.Answer;
+import io.vlingo.lattice.grid.application.message.Batch;
+import io.vlingo.lattice.grid.application.message.CorrelationId;
+import io.vlingo.lattice.grid.application.message.Credit;
+import io.vlingo.lattice.grid.application.message.Deliver;
+import io.vlingo.lattice.grid.application.message.Forward;
+import io.vlingo.lattice.grid.application.message.Leave;
+import io.vlingo.lattice.grid.application.message.Message;
+import io.vlingo.lattice.grid.application.message.Relocate;
+import io.vlingo.lattice.grid.application.message.RelocateBatch;
+import io.vlingo.lattice.grid.application.message.Replicate;
+import io.vlingo.lattice.grid.application.message.RingHint;
+import io.vlingo.lattice.grid.application.message.Start;
+import io.vlingo.lattice.grid.spaces.Space;
+import io.vlingo.lattice.model.EntityGridActor;
+import io.vlingo.wire.node.Id;
+
+public class BinaryEncoderDecoderTest {
+
+  private static final FSTConfiguration conf = FSTConfiguration.createDefaultConfiguration();
+
+  private final GridAddressFactory addressFactory = new GridAddressFactory(IdentityGeneratorType.RANDOM);
+  private final SerializationRegistry registry = new SerializationRegistry().register(Runnable.class);
+  private final BinaryEncoder encoder = new BinaryEncoder(conf, registry);
+  private final BinaryDecoder decoder = new BinaryDecoder(conf, registry);
+
+  @Test
+  public void testStart() {
+    final Address address = addressFactory.uniqueWith("start");
+    final Start<?> start = roundTrip(new Start<>(Runnable.class, address, null));
+
+    assertSame(Runnable.class, start.protocol);
+    assertEquals(address, start.address);
+    assertEquals("start", start.address.name());
+    assertNull(start.definition);
+  }
+
+  @Test
+  public void testStartOfProtocols() {
+    final Address address = addressFactory.unique();
+    final Start<?> start = roundTrip(Start.of(new Class<?>[] { Runnable.class, Comparable.class }, address, null));
+
+    assertSame(Runnable.class, start.protocol);
+    assertEquals(Arrays.asList(Runnable.class, Comparable.class), Arrays.asList(start.protocols));
+    assertEquals(address, start.address);
+  }
+
+  @Test
+  public void testDeliver() {
+    final Address address = addressFactory.unique();
+    final CorrelationId correlationId = new CorrelationId(CorrelationId.originOf((short) 1, 42L), 7L);
+    final Deliver<?> deliver = roundTrip(new Deliver<>(Comparable.class, address, null, (something) -> {}, correlationId, "compareTo(Object)"));
+
+    assertSame(Comparable.class, deliver.protocol);
+    assertEquals(address, deliver.address);
+    assertNotNull(deliver.consumer);
+    assertEquals(correlationId, deliver.answerCorrelationId);
+    assertEquals("compareTo(Object)", deliver.representation);
+  }
+
+  @Test
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void testDeliverMethodInvocation() {
+    final Address address = addressFactory.unique();
+    final SerializableConsumer invocation = new MethodInvocation(Comparable.class, (short) 0, new Object[] { "other" });
+    final Deliver<?> deliver = roundTrip(new Deliver<>(Comparable.class, address, null, invocation, "compareTo(T)"));
+
+    assertTrue(deliver.consumer instanceof MethodInvocation);
+    assertEquals(0, ((MethodInvocation) deliver.consumer).methodId);
+    assertEquals(Arrays.asList("other"), Arrays.asList(((MethodInvocation) deliver.consumer).args));
+  }
+
+  @Test
+  public void testAnswer() {
+    final CorrelationId correlationId = new CorrelationId(CorrelationId.originOf((short) 1, 42L), 7L);
+    final Answer<?> answer = roundTrip(new Answer<>(correlationId, "result"));
+
+    assertEquals(correlationId, answer.correlationId);
+    assertEquals("result", answer.result);
+    assertNull(answer.error);
+  }
+
+  @Test
+  public void testForward() {
+    final Address address = addressFactory.unique();
+    final Forward forward = roundTrip(new Forward(Id.of(1), new Start<>(Runnable.class, address, null)));
+
+    assertEquals(Id.of(1), forward.originalSender);
+    assertTrue(forward.message instanceof Start);
+    assertEquals(address, ((Start<?>) forward.message).address);
+  }
+
+  @Test
+  public void testRelocate() {
+    final Address address = addressFactory.unique();
+    final Relocate relocate = roundTrip(new Relocate(address, null, "snapshot", Arrays.asList(
+        new Deliver<>(Runnable.class, address, null, (something) -> {}, "run()"),
+        new Deliver<>(Runnable.class, address, null, (something) -> {}, "run()"))));
+
+    assertEquals(address, relocate.address);
+    assertEquals("snapshot", relocate.snapshot);
+    assertEquals(2, relocate.pending.size());
+    assertEquals("run()", relocate.pending.get(1).representation);
+  }
+
+  @Test
+  public void testEmptyRelocate() {
+    final Relocate relocate = roundTrip(new Relocate(addressFactory.unique(), null, null, Collections.emptyList()));
+
+    assertNull(relocate.snapshot);
+    assertTrue(relocate.pending.isEmpty());
+  }
+
+  @Test
+  public void testRelocateBatch() {
+    final Address first = addressFactory.unique();
+    final Address second = addressFactory.unique();
+    final RelocateBatch batch = roundTrip(new RelocateBatch(Arrays.asList(
+        new Relocate(first, null, "first", Collections.singletonList(new Deliver<>(Runnable.class, first, null, (something) -> {}, "run()"))),
+        new Relocate(second, null, "second", Collections.emptyList()))));
+
+    assertEquals(2, batch.relocates.size());
+    assertEquals(first, batch.relocates.get(0).address);
+    assertEquals("first", batch.relocates.get(0).snapshot);
+    assertEquals(1, batch.relocates.get(0).pending.size());
+    assertEquals(second, batch.relocates.get(1).address);
+    assertEquals("second", batch.relocates.get(1).snapshot);
+    assertTrue(batch.relocates.get(1).pending.isEmpty());
+  }
+
+  @Test
+  public void testBatch() {
+    final Address address = addressFactory.unique();
+    final Batch batch = roundTrip(new Batch(Arrays.asList(
+        new Start<>(Runnable.class, address, null),
+        new Answer<>(new CorrelationId(1L, 1L), "result"))));
+
+    assertEquals(2, batch.messages.size());
+    assertTrue(batch.messages.get(0) instanceof Start);
+    assertTrue(batch.messages.get(1) instanceof Answer);
+  }
+
+  @Test
+  public void testLeave() {
+    final Batch batch = roundTrip(new Batch(Arrays.asList(new Leave(), new Answer<>(new CorrelationId(1L, 1L), "result"))));
+
+    assertTrue(batch.messages.get(0) instanceof Leave);
+    assertTrue(batch.messages.get(1) instanceof Answer);
+  }
+
+  @Test
+  public void testReplicate() {
+    final Address address = addressFactory.unique();
+    final Replicate replicate = roundTrip(new Replicate(address, null, "state"));
+
+    assertEquals(address, replicate.address);
+    assertNull(replicate.definition);
+    assertEquals("state", replicate.snapshot);
+  }
+
+  @Test
+  public void testRelocateLargerThanInitialBuffer() {
+    final Address address = addressFactory.unique();
+    final char[] snapshot = new char[10_000];
+    Arrays.fill(snapshot, 's');
+    final List<Deliver<?>> pending = new ArrayList<>();
+    for (int count = 0; count < 100; ++count) {
+      pending.add(new Deliver<>(Runnable.class, address, null, (something) -> {}, "run()"));
+    }
+    final Relocate relocate = roundTrip(new Relocate(address, null, new String(snapshot), pending));
+
+    assertEquals(new String(snapshot), relocate.snapshot);
+    assertEquals(100, relocate.pending.size());
+  }
+
+  @Test(expected = BufferOverflowException.class)
+  public void testEncodeIntoFullBufferOverflows() {
+    encoder.encode(new Relocate(addressFactory.unique(), null, "snapshot", Collections.emptyList()), ByteBuffer.allocate(16));
+  }
+
+  @Test
+  public void testEncodeGrowingKeepsBytesWrittenBefore() {
+    final Start<Runnable> start = new Start<>(Runnable.class, addressFactory.unique(), null);
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    buffer.putLong(42L);
+
+    final ByteBuffer grown = encoder.encodeGrowing(start, buffer);
+    grown.flip();
+
+    assertEquals(42L, grown.getLong());
+    final byte[] encoded = new byte[grown.remaining()];
+    grown.get(encoded);
+    assertArrayEquals(encoder.encode(start), encoded);
+  }
+
+  @Test
+  public void testRingHint() {
+    final Map<Id, Integer> nodes = new HashMap<>();
+    nodes.put(Id.of(1), 1);
+    nodes.put(Id.of(2), 4);
+    final RingHint hint = roundTrip(new RingHint(nodes));
+
+    assertEquals(nodes, hint.nodes);
+  }
+
+  @Test
+  public void testCredit() {
+    assertEquals(32, roundTrip(new Credit(32)).credits);
+  }
+
+  @Test
+  public void testForwardReusesEncodedMessage() {
+    final Start<Runnable> start = new Start<>(Runnable.class, addressFactory.unique(), null);
+    final Forward forward = roundTrip(new Forward(Id.of(1), start, encoder.encode(start)));
+
+    assertEquals(Id.of(1), forward.originalSender);
+    assertEquals(start.address, ((Start<?>) forward.message).address);
+  }
+
+  @Test
+  public void testRoundTripWithPerThreadConfigurations() throws Exception {
+    final SerializationRegistry gridRegistry = new SerializationRegistry().registerGridClasses().register(Runnable.class);
+    final BinaryEncoder gridEncoder = new BinaryEncoder(gridRegistry);
+    final BinaryDecoder gridDecoder = new BinaryDecoder(gridRegistry);
+    final Address address = addressFactory.unique();
+    final byte[] encoded = gridEncoder.encode(new Relocate(address, null, "snapshot", Arrays.asList(
+        new Deliver<>(Runnable.class, address, null, (something) -> {}, "run()"))));
+
+    final Relocate[] relocate = new Relocate[1];
+    final Thread decoding = new Thread(() -> relocate[0] = (Relocate) gridDecoder.decode(encoded));
+    decoding.start();
+    decoding.join();
+
+    assertEquals(address, relocate[0].address);
+    assertEquals("snapshot", relocate[0].snapshot);
+    assertNotNull(relocate[0].pending.get(0).consumer);
+  }
+
+  @Test
+  public void testGridProtocolsAreWrittenAsIds() {
+    final SerializationRegistry gridRegistry = new SerializationRegistry().registerGridClasses();
+    final BinaryEncoder gridEncoder = new BinaryEncoder(conf, gridRegistry);
+    final Start<Space> start = new Start<>(Space.class, addressFactory.unique(), null);
+
+    final byte[] encoded = gridEncoder.encode(start);
+    assertTrue(encoded.length < encoder.encode(start).length);
+    assertSame(Space.class, ((Start<?>) new BinaryDecoder(conf, gridRegistry).decode(encoded)).protocol);
+  }
+
+  @Test
+  public void testModelClassesRegisteredThroughTheirRegistration() {
+    final SerializationRegistry gridRegistry = new SerializationRegistry().registerGridClasses();
+
+    assertNotEquals(SerializationRegistry.Unregistered, gridRegistry.idOf(EntityGridActor.RelocatedState.class));
+    assertEquals(gridRegistry.idOf(EntityGridActor.RelocatedState.class),
+        new SerializationRegistry().registerGridClasses().idOf(EntityGridActor.RelocatedState.class));
+  }
+
+  @Test
+  public void testConfigurationReplacedAfterRegistration() {
+    final SerializationRegistry gridRegistry = new SerializationRegistry().registerGridClasses();
+    final FSTConfiguration first = gridRegistry.configuration();
+    assertSame(first, gridRegistry.configuration());
+
+    gridRegistry.register(Runnable.class);
+    assertNotSame(first, gridRegistry.configuration());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <M extends Message> M roundTrip(final M message) {
+    return (M) decoder.decode(encoder.encode(message));
+  }
+}
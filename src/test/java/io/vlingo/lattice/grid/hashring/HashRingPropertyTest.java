@@ -109,6 +109,32 @@ public abstract class HashRingPropertyTest {
     return ring;
   }
 
+  @Test
+  public void heavierNodesMustBeAssignedMoreIds() throws Exception {
+    final HashRing<String> ring = ring(POINTS_PER_NODE, FACTORY)
+        .includeNode(NODES[0], 1)
+        .includeNode(NODES[1], 4);
+
+    final Map<String, Set<UUID>> assignments = assignments(gen(SAMPLE_SIZE * 10), ring);
+
+    assertTrue(assignments.get(NODES[1]).size() > 2 * assignments.get(NODES[0]).size());
+  }
+
+  @Test
+  public void excludingWeightedNodesMustRemoveAllOfTheirPoints() throws Exception {
+    final HashRing<String> ring = ring(POINTS_PER_NODE, FACTORY)
+        .includeNode(NODES[0], 1)
+        .includeNode(NODES[1], 3)
+        .includeNode(NODES[1], 2)
+        .includeNode(NODES[2], 1);
+
+    ring.excludeNode(NODES[1]);
+
+    for (final UUID sample : gen(SAMPLE_SIZE * 10)) {
+      assertTrue(!NODES[1].equals(ring.nodeOf(sample)));
+    }
+  }
+
   @Test
   public void emptyHashRingShouldAssignNull() throws Exception {
     HashRing<String> ring = ring(POINTS_PER_NODE, FACTORY);
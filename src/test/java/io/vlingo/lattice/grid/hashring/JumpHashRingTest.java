@@ -0,0 +1,105 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class JumpHashRingTest {
+
+  private static final int SampleSize = 30_000;
+
+  @Test
+  public void testJoiningLastNodeTakesOnlyItsShare() {
+    final HashRing<String> ring = new JumpHashRing<String>().includeNode("node1").includeNode("node2").includeNode("node3");
+    final HashRing<String> previous = ring.copy();
+    ring.includeNode("node4");
+
+    assertEquals(SampleSize / 4, movedTo("node4", previous, ring), SampleSize / 40);
+  }
+
+  @Test
+  public void testRingsOfTheSameNodesAgreeWhateverTheirOrder() {
+    final HashRing<String> ring = new JumpHashRing<String>().includeNode("node1").includeNode("node2", 2).includeNode("node3");
+    final HashRing<String> other = new JumpHashRing<String>().includeNode("node3").includeNode("node4").includeNode("node2", 2);
+    other.includeNode("node1").excludeNode("node4");
+
+    for (int sample = 0; sample < SampleSize; ++sample) {
+      final UUID id = UUID.randomUUID();
+      assertEquals(ring.nodeOf(id), other.nodeOf(id));
+      assertEquals(ring.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits()), other.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+    }
+  }
+
+  @Test
+  public void testExcludingLastNodeMovesOnlyItsIds() {
+    final HashRing<String> ring = new JumpHashRing<String>().includeNode("node1").includeNode("node2").includeNode("node3").includeNode("node4");
+    final HashRing<String> previous = ring.copy();
+    ring.excludeNode("node4");
+
+    for (int sample = 0; sample < 1000; ++sample) {
+      final UUID id = UUID.randomUUID();
+      final String before = previous.nodeOf(id);
+      if (!"node4".equals(before)) {
+        assertEquals(before, ring.nodeOf(id));
+      }
+    }
+  }
+
+  @Test
+  public void testAssignsInProportionToWeight() {
+    final HashRing<String> ring = new JumpHashRing<String>().includeNode("node1", 1).includeNode("node2", 3);
+
+    int node1 = 0;
+    for (int sample = 0; sample < SampleSize; ++sample) {
+      if ("node1".equals(ring.nodeOf(UUID.randomUUID()))) {
+        ++node1;
+      }
+    }
+    assertTrue(Math.abs(node1 - SampleSize / 4) < SampleSize / 40);
+
+    ring.excludeNode("node2");
+    assertEquals("node1", ring.nodeOf(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testExcludedNodeIsNeverAssigned() {
+    final HashRing<String> ring = new JumpHashRing<String>().includeNode("node1").includeNode("node2").includeNode("node3");
+    ring.excludeNode("node1").excludeNode("node3");
+
+    for (int sample = 0; sample < 1000; ++sample) {
+      assertEquals("node2", ring.nodeOf(UUID.randomUUID()));
+    }
+
+    ring.excludeNode("node2");
+    assertNull(ring.nodeOf(UUID.randomUUID()));
+
+    ring.includeNode("node3");
+    assertNotEquals("node2", ring.nodeOf(UUID.randomUUID()));
+  }
+
+  private static int movedTo(final String node, final HashRing<String> previous, final HashRing<String> ring) {
+    int moved = 0;
+    for (int sample = 0; sample < SampleSize; ++sample) {
+      final UUID id = UUID.randomUUID();
+      final String before = previous.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      final String after = ring.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (!before.equals(after)) {
+        assertEquals(node, after);
+        ++moved;
+      }
+    }
+    return moved;
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class MurmurSnapshotHashRingTest {
+
+  @Test
+  public void testAssignsLikeSortedMapHashRing() {
+    final HashRing<String> snapshot = new MurmurSnapshotHashRing<>(100);
+    final HashRing<String> sortedMap = new MurmurSortedMapHashRing<>(100);
+    for (final String node : new String[] { "node1", "node2", "node3" }) {
+      snapshot.includeNode(node);
+      sortedMap.includeNode(node);
+    }
+
+    for (int sample = 0; sample < 1000; ++sample) {
+      final String id = UUID.randomUUID().toString();
+      assertEquals(sortedMap.nodeOf(id), snapshot.nodeOf(id));
+    }
+  }
+
+  @Test
+  public void testSpreadsUuidBitsOverAllNodes() {
+    final HashRing<String> ring1 = new MurmurSnapshotHashRing<>(100);
+    final HashRing<String> ring2 = new MurmurSnapshotHashRing<>(100);
+    for (final String node : new String[] { "node1", "node2", "node3" }) {
+      ring1.includeNode(node);
+      ring2.includeNode(node);
+    }
+
+    final Set<String> assigned = new HashSet<>();
+    for (int sample = 0; sample < 1000; ++sample) {
+      final UUID id = UUID.randomUUID();
+      final String node = ring1.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      assertEquals(node, ring2.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+      assigned.add(node);
+    }
+
+    assertEquals(3, assigned.size());
+  }
+
+  @Test
+  public void testAssignsInProportionToWeight() {
+    final HashRing<String> ring = new MurmurSnapshotHashRing<>(100);
+    ring.includeNode("node1", 1).includeNode("node2", 3);
+
+    assertEquals(5_000, countOf("node1", ring, 20_000), 1_000);
+
+    ring.includeNode("node2", 1);
+    assertEquals(10_000, countOf("node1", ring, 20_000), 1_000);
+  }
+
+  private static int countOf(final String node, final HashRing<String> ring, final int samples) {
+    int count = 0;
+    for (int sample = 0; sample < samples; ++sample) {
+      final UUID id = UUID.randomUUID();
+      if (node.equals(ring.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits()))) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testEpochAdvancesAndCopyIsIsolated() {
+    final HashRing<String> ring = new MurmurSnapshotHashRing<>(100);
+    final long initial = ring.epoch();
+
+    ring.includeNode("node1");
+    final HashRing<String> copy = ring.copy();
+    ring.includeNode("node2");
+    ring.excludeNode("node1");
+
+    assertEquals(initial + 3, ring.epoch());
+    assertNotEquals(ring.epoch(), copy.epoch());
+    assertEquals("node1", copy.nodeOf("testing"));
+    assertEquals("node2", ring.nodeOf("testing"));
+  }
+
+  @Test
+  public void testNodeOfWhileNodesJoinAndLeave() throws Exception {
+    final HashRing<String> ring = new MurmurSnapshotHashRing<>(100);
+    ring.includeNode("node1");
+
+    final AtomicBoolean reading = new AtomicBoolean(true);
+    final ExecutorService exec = Executors.newFixedThreadPool(4);
+    final Future<?> reader = exec.submit(() -> {
+      while (reading.get()) {
+        assertNotNull(ring.nodeOf(UUID.randomUUID()));
+      }
+    });
+
+    for (int round = 0; round < 500; ++round) {
+      ring.includeNode("node2");
+      ring.excludeNode("node2");
+    }
+    reading.set(false);
+
+    reader.get();
+    exec.shutdown();
+  }
+}
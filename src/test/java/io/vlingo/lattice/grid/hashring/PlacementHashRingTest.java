@@ -0,0 +1,68 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.vlingo.actors.Address;
+import io.vlingo.actors.AddressFactory;
+import io.vlingo.actors.GridAddressFactory;
+import io.vlingo.common.identity.IdentityGeneratorType;
+
+public class PlacementHashRingTest {
+
+  private static final AddressFactory Addresses = new GridAddressFactory(IdentityGeneratorType.RANDOM);
+
+  @Test
+  public void testPlacedAddressIsAssignedToItsNode() {
+    final PlacementHashRing<String> ring = ring();
+    final Address address = Addresses.unique();
+    final String hashed = ring.nodeOf(address);
+    final String other = "node1".equals(hashed) ? "node2" : "node1";
+
+    final long epoch = ring.epoch();
+    ring.place(address, other);
+    assertEquals(other, ring.nodeOf(address));
+    assertNotEquals(epoch, ring.epoch());
+
+    ring.unplace(address);
+    assertEquals(hashed, ring.nodeOf(address));
+  }
+
+  @Test
+  public void testExcludingNodeDropsItsPlacements() {
+    final PlacementHashRing<String> ring = ring();
+    final Address address = Addresses.unique();
+    ring.place(address, "node3");
+
+    ring.excludeNode("node3");
+    assertNotEquals("node3", ring.nodeOf(address));
+    assertTrue(ring.placements().isEmpty());
+  }
+
+  @Test
+  public void testCopyKeepsPlacementsOfTheMoment() {
+    final PlacementHashRing<String> ring = ring();
+    final Address address = Addresses.unique();
+    ring.place(address, "node3");
+
+    final HashRing<String> copy = ring.copy();
+    ring.unplace(address);
+    assertEquals("node3", copy.nodeOf(address));
+  }
+
+  private static PlacementHashRing<String> ring() {
+    final PlacementHashRing<String> ring = new PlacementHashRing<>(new MurmurSnapshotHashRing<>(100));
+    ring.includeNode("node1").includeNode("node2").includeNode("node3");
+    return ring;
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.lattice.grid.hashring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class RendezvousHashRingTest {
+
+  private static final int SampleSize = 30_000;
+
+  @Test
+  public void testAssignsInProportionToWeight() {
+    final RendezvousHashRing<String> ring = new RendezvousHashRing<>();
+    ring.includeNode("node1", 1);
+    ring.includeNode("node2", 1);
+    ring.includeNode("node3", 2);
+
+    final Map<String, Integer> counts = new HashMap<>();
+    for (int sample = 0; sample < SampleSize; ++sample) {
+      final UUID id = UUID.randomUUID();
+      counts.merge(ring.nodeOf(id.getMostSignificantBits(), id.getLeastSignificantBits()), 1, Integer::sum);
+    }
+
+    assertEquals(SampleSize / 4, counts.get("node1"), SampleSize / 40);
+    assertEquals(SampleSize / 4, counts.get("node2"), SampleSize / 40);
+    assertEquals(SampleSize / 2, counts.get("node3"), SampleSize / 40);
+  }
+
+  @Test
+  public void testJoiningNodeTakesOnlyItsShare() {
+    final RendezvousHashRing<String> ring = new RendezvousHashRing<>();
+    ring.includeNode("node1").includeNode("node2").includeNode("node3");
+    final HashRing<String> previous = ring.copy();
+    ring.includeNode("node4");
+
+    int moved = 0;
+    for (int sample = 0; sample < SampleSize; ++sample) {
+      final UUID id = UUID.randomUUID();
+      final String before = previous.nodeOf(id);
+      final String after = ring.nodeOf(id);
+      if (!before.equals(after)) {
+        assertEquals("node4", after);
+        ++moved;
+      }
+    }
+
+    assertTrue(Math.abs(moved - SampleSize / 4) < SampleSize / 40);
+  }
+}
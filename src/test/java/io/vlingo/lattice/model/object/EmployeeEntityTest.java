@@ -13,7 +13,10 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.vlingo.actors.Protocols;
+import io.vlingo.actors.RelocationSnapshotConsumer;
 import io.vlingo.actors.World;
+import io.vlingo.lattice.model.EntityGridActor.RelocatedState;
 import io.vlingo.lattice.model.object.ObjectTypeRegistry.Info;
 import io.vlingo.symbio.store.MapQueryExpression;
 import io.vlingo.symbio.store.object.ObjectStore;
@@ -48,6 +51,26 @@ public class EmployeeEntityTest {
     // TODO: test reading event entries
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testThatRelocatedEmployeeCatchesUpWithStore() {
+    final String employeeNumber = "23456";
+
+    final Employee employee = world.actorFor(Employee.class, EmployeeEntity.class, employeeNumber);
+    final EmployeeState hired = employee.hire(50000).await();
+    final EmployeeState adjusted = employee.adjust(55000).await();
+
+    final Protocols.Two<Employee, RelocationSnapshotConsumer<RelocatedState>> relocated =
+            Protocols.two(world.actorFor(new Class<?>[] { Employee.class, RelocationSnapshotConsumer.class }, EmployeeEntity.class, employeeNumber));
+
+    final EmployeeState stale = new EmployeeState(hired.persistenceId(), employeeNumber, 50000);
+    relocated._2.applyRelocationSnapshot(new RelocatedState(stale, stale.version()));
+
+    final EmployeeState current = relocated._1.current().await();
+    assertEquals(adjusted, current);
+    assertEquals(55000, current.salary);
+  }
+
   @Before
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public void setUp() {
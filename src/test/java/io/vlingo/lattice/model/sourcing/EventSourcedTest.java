@@ -18,10 +18,13 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.vlingo.actors.Protocols;
+import io.vlingo.actors.RelocationSnapshotConsumer;
 import io.vlingo.actors.World;
 import io.vlingo.actors.testkit.AccessSafely;
 import io.vlingo.actors.testkit.TestWorld;
 import io.vlingo.lattice.model.DomainEvent;
+import io.vlingo.lattice.model.EntityGridActor.RelocatedState;
 import io.vlingo.lattice.model.sourcing.SourcedTypeRegistry.Info;
 import io.vlingo.symbio.BaseEntry;
 import io.vlingo.symbio.Entry;
@@ -147,6 +150,36 @@ public class EventSourcedTest {
     assertEquals("ProductNameChanged", innerToSimple(entries.get(3).typeName()));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testThatRelocatedSnapshotCatchesUpWithJournal() {
+    final AccessSafely resultAccess = result.afterCompleting(4);
+    entity.doTest1();
+    entity.doTest2();
+    assertEquals(2, (int) resultAccess.readFrom("appliedCount"));
+
+    final Result relocatedResult = new Result();
+    // restored from the journal when started, and then from it after version 1 when relocated
+    final AccessSafely relocatedAccess = relocatedResult.afterCompleting(6);
+
+    final Protocols.Two<Entity, RelocationSnapshotConsumer<RelocatedState>> relocated =
+            Protocols.two(world.actorFor(new Class<?>[] { Entity.class, RelocationSnapshotConsumer.class }, TestEventSourcedEntity.class, relocatedResult));
+
+    relocated._2.applyRelocationSnapshot(new RelocatedState("snapshot", 1));
+
+    assertEquals(3, (int) relocatedAccess.readFrom("appliedCount"));
+    Object appliedAt2 = relocatedAccess.readFrom("appliedAt", 2);
+    assertEquals(Test2Happened.class, appliedAt2.getClass());
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testThatRelocatedVersionOutOfRangeFails() {
+    final TestEventSourcedEntity relocated =
+            (TestEventSourcedEntity) testWorld.actorFor(Entity.class, TestEventSourcedEntity.class, new Result()).actorInside();
+
+    relocated.restoreRelocated("snapshot", Integer.MAX_VALUE + 1L);
+  }
+
   @Before
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public void setUp() {
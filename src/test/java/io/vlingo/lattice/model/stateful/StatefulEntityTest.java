@@ -18,10 +18,13 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.vlingo.actors.Protocols;
+import io.vlingo.actors.RelocationSnapshotConsumer;
 import io.vlingo.actors.World;
 import io.vlingo.actors.testkit.AccessSafely;
 import io.vlingo.common.Completes;
 import io.vlingo.common.serialization.JsonSerialization;
+import io.vlingo.lattice.model.EntityGridActor.RelocatedState;
 import io.vlingo.lattice.model.stateful.StatefulTypeRegistry.Info;
 import io.vlingo.symbio.EntryAdapterProvider;
 import io.vlingo.symbio.Metadata;
@@ -128,6 +131,33 @@ public class StatefulEntityTest {
     });
   }
 
+  @Test
+  public void testThatRelocatedStateCatchesUpWithStore() throws Exception {
+    final String entityId = "" + idGenerator.nextInt(10_000);
+    final Entity1 entity1 = world.actorFor(Entity1.class, Entity1Actor.class, new Entity1State(entityId, "Sally", 23));
+    entity1.changeName("Sally Jane");
+    assertEquals("Sally Jane", entity1.current().await().name);
+
+    final Protocols.Two<Entity1, RelocationSnapshotConsumer<RelocatedState>> relocated = relocated(entityId);
+
+    relocated._2.applyRelocationSnapshot(new RelocatedState(new Entity1State(entityId, "Sally", 23), 1));
+
+    assertEquals(new Entity1State(entityId, "Sally Jane", 23), relocated._1.current().await());
+  }
+
+  @Test
+  public void testThatRelocatedStateNewerThanStoreIsKept() throws Exception {
+    final String entityId = "" + idGenerator.nextInt(10_000);
+    final Entity1 entity1 = world.actorFor(Entity1.class, Entity1Actor.class, new Entity1State(entityId, "Sally", 23));
+    assertEquals("Sally", entity1.current().await().name);
+
+    final Protocols.Two<Entity1, RelocationSnapshotConsumer<RelocatedState>> relocated = relocated(entityId);
+
+    relocated._2.applyRelocationSnapshot(new RelocatedState(new Entity1State(entityId, "Sally Jane", 24), 3));
+
+    assertEquals(new Entity1State(entityId, "Sally Jane", 24), relocated._1.current().await());
+  }
+
   @Before
   public void setUp() {
     world = World.startWithDefaults("stateful-entity");
@@ -148,6 +178,14 @@ public class StatefulEntityTest {
     world.terminate();
   }
 
+  @SuppressWarnings("unchecked")
+  private Protocols.Two<Entity1, RelocationSnapshotConsumer<RelocatedState>> relocated(final String entityId) {
+    return Protocols.two(world.actorFor(
+            new Class<?>[] { Entity1.class, RelocationSnapshotConsumer.class },
+            Entity1RelocatableActor.class,
+            new Entity1State(entityId)));
+  }
+
   public static class Entity1StateAdapter implements StateAdapter<Entity1State,State<String>> {
     @Override public int typeVersion() { return 1; }
 
@@ -326,4 +364,51 @@ public class StatefulEntityTest {
       return Entity1State.class;
     }
   }
+
+  public static class Entity1RelocatableActor extends StatefulEntity<Entity1State> implements Entity1 {
+    private Entity1State state;
+
+    public Entity1RelocatableActor(final Entity1State state) {
+      super(state.id);
+      this.state = state;
+    }
+
+    //===================================
+    // Entity1
+    //===================================
+
+    @Override
+    public Completes<Entity1State> current() {
+      return completes().with(state.copy());
+    }
+
+    @Override
+    public void changeName(final String name) {
+      apply(state.withName(name));
+    }
+
+    @Override
+    public void increaseAge() {
+      apply(state.withAge(state.age + 1));
+    }
+
+    //===================================
+    // StatefulEntity
+    //===================================
+
+    @Override
+    protected void state(final Entity1State state) {
+      this.state = state;
+    }
+
+    @Override
+    protected Entity1State relocationState() {
+      return state;
+    }
+
+    @Override
+    protected Class<Entity1State> stateType() {
+      return Entity1State.class;
+    }
+  }
 }